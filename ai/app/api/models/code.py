@@ -33,6 +33,8 @@ class AnalysisStatus(IntEnum):
     INSUFFICIENT_GITLAB_REQUEST = 332
     REPO_REQUEST_TIMEOUT = 333
 
+    CANCELLED = 340                 # 취소 요청 또는 진척도 조회가 끊김
+
 
 analysis_percentages: dict[AnalysisStatus, int] = {
     AnalysisStatus.BEFORE_RECEIVING: 0,
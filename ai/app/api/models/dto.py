@@ -1,4 +1,6 @@
+import gzip
 import json
+import time
 from abc import ABCMeta
 from typing import Union
 
@@ -93,6 +95,20 @@ class AiResultDto:
 
 class AnalysisDataDto:
     REDIS_KEY_PREFIX = "result:"
+    # 값이 바뀌면 analysisId 를 발행해서 백엔드 노드들의 near-cache(RedisResultNearCache) 항목을 지운다.
+    REDIS_INVALIDATE_CHANNEL = "result:invalidate"
+    # 회원별 진행 중인 분석 인덱스 (sorted set, member: analysisId, score: 시작 시각 ms), 백엔드 ActiveAnalysisIndex 와 같은 키
+    REDIS_ACTIVE_KEY_PREFIX = "active:"
+    # 취소 표시, 진척도 조회 heartbeat (백엔드 AnalysisCancellation)
+    REDIS_CANCEL_KEY_PREFIX = "cancel:"
+    REDIS_POLL_KEY_PREFIX = "poll:"
+
+    # 백엔드 VersionedJsonRedisSerializer 와 같은 값 형식
+    # [MAGIC(0xC0)][스키마 버전][플래그] + JSON (플래그 FLAG_GZIP 이면 gzip 압축), 헤더가 없으면 평문 JSON
+    REDIS_VALUE_MAGIC = 0xC0
+    REDIS_SCHEMA_VERSION = 1
+    REDIS_FLAG_GZIP = 0x01
+    REDIS_COMPRESS_THRESHOLD = 2048
 
     def __init__(
             self,
@@ -105,6 +121,10 @@ class AnalysisDataDto:
             percentage: int | None = None,
             repo_start_date: str | None = None,
             repo_end_date: str | None = None,
+            analysis_since: str | None = None,
+            analysis_until: str | None = None,
+            max_commits: int | None = None,
+            estimate: dict | None = None,
             repo_member_cnt: int | None = None,
             result: AiResultDto | None = None,
             status: AnalysisStatus | None = None,
@@ -119,6 +139,10 @@ class AnalysisDataDto:
         self.percentage = percentage
         self.repo_start_date = repo_start_date
         self.repo_end_date = repo_end_date
+        self.analysis_since = analysis_since
+        self.analysis_until = analysis_until
+        self.max_commits = max_commits
+        self.estimate = estimate    # 백엔드의 분석 비용 추정 (그대로 보존)
         self.repo_member_cnt = repo_member_cnt
         self.result = result
         self.status = status
@@ -136,6 +160,10 @@ class AnalysisDataDto:
             percentage=dct.get('percentage', None),
             repo_start_date=dct.get('repoStartDate', None),
             repo_end_date=dct.get('repoEndDate', None),
+            analysis_since=dct.get('analysisSince', None),
+            analysis_until=dct.get('analysisUntil', None),
+            max_commits=dct.get('maxCommits', None),
+            estimate=dct.get('estimate', None),
             repo_member_cnt=dct.get('repoMemberCnt', None),
             result=AiResultDto.from_dict(dct['result']) if 'result' in dct else None,
             status=AnalysisStatus(int(dct.get('status', 000))),
@@ -153,6 +181,10 @@ class AnalysisDataDto:
             'percentage': self.percentage,
             'repoStartDate': self.repo_start_date,
             'repoEndDate': self.repo_end_date,
+            'analysisSince': self.analysis_since,
+            'analysisUntil': self.analysis_until,
+            'maxCommits': self.max_commits,
+            'estimate': self.estimate,
             'repoMemberCnt': self.repo_member_cnt,
             'result': self.result.to_camel_dict() if self.result else None,
             'status': str(self.status),
@@ -161,23 +193,78 @@ class AnalysisDataDto:
 
     @staticmethod
     async def from_redis(redis_client: Redis, analysis_id: str) -> Union['AnalysisDataDto', None]:
-        json_str: str | None = redis_client.get(AnalysisDataDto.REDIS_KEY_PREFIX + analysis_id)
-        if json_str is None:
+        value: bytes | None = redis_client.get(AnalysisDataDto.REDIS_KEY_PREFIX + analysis_id)
+        if value is None:
             return None
-        return AnalysisDataDto.from_dict(analysis_id, json.loads(json_str))
+        return AnalysisDataDto.from_dict(analysis_id, json.loads(AnalysisDataDto.decode_redis_value(value)))
 
     def to_redis(self, redis_client: Redis, **redis_set_args) -> None:
-        redis_client.set(
+        json_str = json.dumps(self, default=lambda obj: obj.to_camel_dict(), separators=(',', ':'))
+        # SET 은 기존 ttl 을 지우므로 만료 시간(expireSec)을 다시 건다. (백엔드 저장과 같음)
+        if self.expire_sec and not any(key in redis_set_args for key in ('ex', 'px', 'exat', 'pxat', 'keepttl')):
+            redis_set_args['ex'] = self.expire_sec
+        # 저장, 진행 중 인덱스 갱신, 백엔드 노드들의 near-cache 무효화 메시지를 한 트랜잭션(MULTI)으로 보낸다.
+        pipe = redis_client.pipeline(transaction=True)
+        pipe.set(
             name=AnalysisDataDto.REDIS_KEY_PREFIX + self.analysis_id,
-            value=json.dumps(self, default=lambda obj: obj.to_camel_dict(), separators=(',', ':')),
+            value=AnalysisDataDto.encode_redis_value(json_str.encode('utf-8')),
             **redis_set_args
         )
+        if self.member_id is not None:
+            active_key = AnalysisDataDto.REDIS_ACTIVE_KEY_PREFIX + str(self.member_id)
+            if self.status < AnalysisStatus.DONE:
+                pipe.zadd(active_key, {self.analysis_id: int(time.time() * 1000)}, nx=True)
+            else:
+                pipe.zrem(active_key, self.analysis_id)
+        pipe.publish(AnalysisDataDto.REDIS_INVALIDATE_CHANNEL, self.analysis_id)
+        pipe.execute()
+
+    def release_redis(self, redis_client: Redis) -> None:
+        """분석 결과와 진행 중 인덱스를 지웁니다. (취소된 분석)"""
+        pipe = redis_client.pipeline(transaction=True)
+        pipe.delete(AnalysisDataDto.REDIS_KEY_PREFIX + self.analysis_id)
+        if self.member_id is not None:
+            pipe.zrem(AnalysisDataDto.REDIS_ACTIVE_KEY_PREFIX + str(self.member_id), self.analysis_id)
+        pipe.publish(AnalysisDataDto.REDIS_INVALIDATE_CHANNEL, self.analysis_id)
+        pipe.execute()
+
+    @staticmethod
+    def is_cancelled(redis_client: Redis, analysis_id: str) -> bool:
+        """취소 요청이 있거나 진척도 조회 heartbeat 가 만료되었으면 True"""
+        pipe = redis_client.pipeline(transaction=False)
+        pipe.exists(AnalysisDataDto.REDIS_CANCEL_KEY_PREFIX + analysis_id)
+        pipe.exists(AnalysisDataDto.REDIS_POLL_KEY_PREFIX + analysis_id)
+        cancelled, polling = pipe.execute()
+        return bool(cancelled) or not polling
+
+    @staticmethod
+    def decode_redis_value(value: bytes) -> bytes:
+        if len(value) == 0 or value[0] != AnalysisDataDto.REDIS_VALUE_MAGIC:
+            return value        # 헤더가 없는 기존 평문 JSON
+        if len(value) < 3 or value[1] > AnalysisDataDto.REDIS_SCHEMA_VERSION:
+            raise ValueError(f'unsupported redis value schema version: {value[1] if len(value) > 1 else -1}')
+        body = value[3:]
+        return gzip.decompress(body) if value[2] & AnalysisDataDto.REDIS_FLAG_GZIP else body
+
+    @staticmethod
+    def encode_redis_value(json_bytes: bytes) -> bytes:
+        compress = len(json_bytes) >= AnalysisDataDto.REDIS_COMPRESS_THRESHOLD
+        header = bytes([
+            AnalysisDataDto.REDIS_VALUE_MAGIC,
+            AnalysisDataDto.REDIS_SCHEMA_VERSION,
+            AnalysisDataDto.REDIS_FLAG_GZIP if compress else 0
+        ])
+        return header + (gzip.compress(json_bytes) if compress else json_bytes)
 
 
 class AnalysisRequest(BaseModel, metaclass=ABCMeta):
     """분석 요청에 대한 body DTO 추상 클래스"""
     analysisId: str
     userName: str
+    # 분석할 커밋 범위 (yyyy-MM-dd, 날짜 포함), 최대 커밋 수
+    since: str | None = None
+    until: str | None = None
+    maxCommits: int | None = None
 
 
 class GithubAnalysisRequest(AnalysisRequest):
@@ -38,6 +38,7 @@ class AnalysisService:
 
         try:
             # 레포 요청 가능 여부 확인하기
+            self._raise_if_cancelled(dto)
             self._update_status(dto, AnalysisStatus.CHECKING_FOR_REQUESTING)
             await repo_client.check_loadability(request)
 
@@ -51,6 +52,7 @@ class AnalysisService:
 
             # total_commit_cnt, personal_commit_cnt 세기
             # TODO
+            self._raise_if_cancelled(dto)
             total_commit_cnt = await repo_client.load_total_commit_cnt()
             logging.debug(f'TOTAL COMMIT CNT: {total_commit_cnt}')
             personal_commit_cnt = await repo_client.load_personal_commit_cnt(request.userName)
@@ -63,6 +65,7 @@ class AnalysisService:
 
             # AI 서비스 Readme Lock 대기
             # TODO ...
+            self._raise_if_cancelled(dto)
             chain = await self.ai_mutex.wait_for_readme_chain(request.analysisId)
 
             logging.debug(request.analysisId + ' START TO GENERATE README')
@@ -77,6 +80,7 @@ class AnalysisService:
 
             # AI 서비스 Commit Lock 대기
             # TODO ...
+            self._raise_if_cancelled(dto)
             chain = await self.ai_mutex.wait_for_commit_chain(request.analysisId)
 
             logging.debug(request.analysisId + ' START TO SCORE COMMITS')
@@ -101,6 +105,10 @@ class AnalysisService:
             self._update_status(dto, AnalysisStatus.DONE)
 
         except AnalysisException as ex:
+            if ex.status == AnalysisStatus.CANCELLED:
+                logging.info(f'{request.analysisId} CANCELLED')
+                dto.release_redis(self.redis_client)
+                return
             dto.percentage = 0
             self._update_status(dto, ex.status)
 
@@ -109,10 +117,21 @@ class AnalysisService:
             self._update_status(dto, AnalysisStatus.INTERNAL_SERVER_ERROR)
             traceback.print_exc()
 
+    def _raise_if_cancelled(self, dto: AnalysisDataDto) -> None:
+        """
+        취소된 분석이면 다음 단계로 넘어가지 않도록 예외를 발생시킵니다.
+        AI Lock 을 잡고 있지 않은 단계 사이에서만 호출합니다.
+        """
+        if AnalysisDataDto.is_cancelled(self.redis_client, dto.analysis_id):
+            raise AnalysisException(AnalysisStatus.CANCELLED, '취소된 분석입니다.')
+
     def _update_status(self, dto: AnalysisDataDto, next_status: AnalysisStatus) -> None:
         """
         Redis에 분석 상태를 업데이트합니다.
+        취소된 분석은 저장하지 않습니다. (백엔드가 지운 키가 다시 생기지 않도록)
         """
+        if AnalysisDataDto.is_cancelled(self.redis_client, dto.analysis_id):
+            return
         dto.status = next_status
         dto.percentage = analysis_percentages.get(dto.status, 0)
         dto.to_redis(redis_client=self.redis_client)
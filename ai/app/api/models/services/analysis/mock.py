@@ -45,6 +45,9 @@ class MockAnalysisService(AnalysisService):
 
         for step in steps:
             await asyncio.sleep(3)
+            if AnalysisDataDto.is_cancelled(self.redis_client, dto.analysis_id):
+                dto.release_redis(self.redis_client)
+                return
             self._update_status(dto, step)
 
         dto.result = AiResultDto(
@@ -27,7 +27,9 @@ class RepoClient(Generic[R], metaclass=ABCMeta):
     def __init__(self, request: R, accept_spec: PathSpec, ignore_spec: PathSpec):
         self.accept_spec = accept_spec
         self.ignore_spec = ignore_spec
-        pass
+        self.since = request.since
+        self.until = request.until
+        self.max_commits = request.maxCommits
 
     @abstractmethod
     async def check_loadability(self, request: AnalysisRequest) -> AnalysisStatus | None:
@@ -124,7 +126,9 @@ class RestRepoClient(Generic[R], RepoClient[R], metaclass=ABCMeta):
             커밋 별 변경사항 리스트
         """
         commits = []
-        commits_json = await self._request_json(self._get_commits_root_url(author_name))
+        commits_json = await self._request_json(self._get_commits_root_url(author_name) + self._get_commit_window_query())
+        if self.max_commits is not None:
+            commits_json = commits_json[:self.max_commits]
         for commit_json in commits_json:
             commit = {
                 'id': self._get_commit_id_from_commit(commit_json),
@@ -143,6 +147,20 @@ class RestRepoClient(Generic[R], RepoClient[R], metaclass=ABCMeta):
 
         return commits
 
+    def _get_commit_window_query(self) -> str:
+        """
+        커밋 목록 URL 뒤에 붙일 커밋 범위 파라미터를 반환합니다. (Github, GitLab 모두 since / until, ISO 8601)
+
+        Returns:
+            ``&since=...&until=...`` 형식의 문자열, 범위가 없으면 빈 문자열
+        """
+        query = ''
+        if self.since is not None:
+            query += f'&since={self.since}T00:00:00Z'
+        if self.until is not None:
+            query += f'&until={self.until}T23:59:59Z'
+        return query
+
     @abstractmethod
     def _get_commits_root_url(self, author_name: str) -> str:
         """
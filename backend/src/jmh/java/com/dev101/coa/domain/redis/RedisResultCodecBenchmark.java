@@ -0,0 +1,117 @@
+package com.dev101.coa.domain.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dev101.coa.domain.repo.dto.AiResultDto;
+import com.dev101.coa.domain.repo.dto.CommitScoreDto;
+import com.dev101.coa.global.config.GsonConfig;
+import com.google.gson.Gson;
+
+/**
+ * 분석 결과 Redis 값 인코딩/디코딩 비교 (기존 Gson 평문 JSON vs VersionedJsonRedisSerializer)
+ * - 저장 크기(byte)는 gsonEncode / codecEncode 의 보조 지표 bytes 로 기록한다. (results.json 의 rawData 에 측정 반복마다 같은 값, 요약 점수는 반복 횟수만큼 더한 값)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedisResultCodecBenchmark {
+
+	// 인코딩 결과 크기
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class EncodedSize {
+		public long bytes;
+	}
+
+	@Param({"512", "8192", "65536"})
+	private int readmeLength;
+
+	private Gson gson;
+	private VersionedJsonRedisSerializer<RedisResult> serializer;
+
+	private RedisResult result;
+	private byte[] gsonBytes;
+	private byte[] codecBytes;
+
+	@Setup
+	public void setUp() {
+		gson = new GsonConfig().gson();
+		serializer = new VersionedJsonRedisSerializer<>(RedisResult.class, 2048);
+
+		StringBuilder readme = new StringBuilder(readmeLength);
+		while (readme.length() < readmeLength) {
+			readme.append("## 프로젝트 소개\n- Spring Boot 기반 커밋 분석 서비스입니다.\n");
+		}
+
+		Map<Long, Integer> linesOfCode = new HashMap<>();
+		linesOfCode.put(3001L, 12000);
+		linesOfCode.put(3002L, 3400);
+
+		result = RedisResult.builder()
+			.analysisId("0f8fad5b-d9cb-469f-a165-70867728950e")
+			.repoPath("https://github.com/rlagkdud/Spring-Pay-System")
+			.userName("rlagkdud")
+			.memberId(12L)
+			.isOwn(true)
+			.percentage(100)
+			.repoStartDate(LocalDate.of(2024, 4, 8))
+			.repoEndDate(LocalDate.of(2024, 5, 17))
+			.repoMemberCnt(6)
+			.result(AiResultDto.builder()
+				.totalCommitCnt(1200L)
+				.personalCommitCnt(340L)
+				.readme(readme.toString())
+				.repoViewResult(readme.substring(0, Math.min(readme.length(), 2000)))
+				.commitScore(CommitScoreDto.builder()
+					.readability((short)80).performance((short)70).reusability((short)60)
+					.testability((short)50).exception((short)40).total((short)60)
+					.scoreComment("good!")
+					.build())
+				.linesOfCode(linesOfCode)
+				.build())
+			.status("200")
+			.expireSec(86400L)
+			.build();
+
+		gsonBytes = gson.toJson(result).getBytes(StandardCharsets.UTF_8);
+		codecBytes = serializer.serialize(result);
+	}
+
+	@Benchmark
+	public byte[] gsonEncode(EncodedSize size) {
+		byte[] bytes = gson.toJson(result).getBytes(StandardCharsets.UTF_8);
+		size.bytes = bytes.length;
+		return bytes;
+	}
+
+	@Benchmark
+	public RedisResult gsonDecode() {
+		return gson.fromJson(new String(gsonBytes, StandardCharsets.UTF_8), RedisResult.class);
+	}
+
+	@Benchmark
+	public byte[] codecEncode(EncodedSize size) {
+		byte[] bytes = serializer.serialize(result);
+		size.bytes = bytes.length;
+		return bytes;
+	}
+
+	@Benchmark
+	public RedisResult codecDecode() {
+		return serializer.deserialize(codecBytes);
+	}
+}
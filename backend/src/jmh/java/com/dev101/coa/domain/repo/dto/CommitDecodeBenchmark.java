@@ -0,0 +1,74 @@
+package com.dev101.coa.domain.repo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * GitHub 커밋 상세 응답 디코딩 비교 (기존 Map<String, Object> vs GitHubCommitDetailDto)
+ * - 커밋당 할당량은 ./gradlew jmh -PjmhIncludes=CommitDecodeBenchmark 결과의 gc.alloc.rate.norm 으로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommitDecodeBenchmark {
+
+	@Param({"5", "50"})
+	private int fileCount;
+
+	private ObjectMapper objectMapper;
+	private byte[] body;
+
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper();
+
+		StringBuilder patch = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			patch.append("+    private final String field").append(i).append(" = \\\"value\\\";\\n");
+		}
+
+		StringBuilder json = new StringBuilder()
+			.append("{\"sha\":\"6dcb09b5b57875f334f61aebed695e2e4193db5e\",")
+			.append("\"commit\":{\"author\":{\"name\":\"Monalisa Octocat\",\"email\":\"support@github.com\",\"date\":\"2011-04-14T16:00:49Z\"},")
+			.append("\"message\":\"Fix all the bugs\",\"tree\":{\"sha\":\"6dcb09b5b57875f334f61aebed695e2e4193db5e\"}},")
+			.append("\"author\":{\"login\":\"octocat\",\"id\":1,\"avatar_url\":\"https://github.com/images/error/octocat_happy.gif\",\"type\":\"User\",\"site_admin\":false},")
+			.append("\"stats\":{\"additions\":104,\"deletions\":4,\"total\":108},")
+			.append("\"files\":[");
+		for (int i = 0; i < fileCount; i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"sha\":\"bbcd538c8e72b8c175046e27cc8f907076331401\",\"filename\":\"src/main/java/File").append(i).append(".java\",")
+				.append("\"status\":\"modified\",\"additions\":200,\"deletions\":2,\"changes\":202,")
+				.append("\"blob_url\":\"https://github.com/octocat/Hello-World/blob/6dcb09b5b57875f334f61aebed695e2e4193db5e/file1.txt\",")
+				.append("\"patch\":\"").append(patch).append("\"}");
+		}
+		json.append("]}");
+		body = json.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public Object decodeMap() throws Exception {
+		Map<String, Object> response = objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+		return (List<?>)response.get("files");
+	}
+
+	@Benchmark
+	public Object decodeRecord() throws Exception {
+		return objectMapper.readValue(body, GitHubCommitDetailDto.class).files();
+	}
+}
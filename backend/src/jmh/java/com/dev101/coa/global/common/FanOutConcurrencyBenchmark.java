@@ -0,0 +1,107 @@
+package com.dev101.coa.global.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * blocking 외부 요청 fan-out 부하 비교 (platform thread 풀 vs virtual thread)
+ * - 외부 요청 하나 = latencyMs 동안 blocking (sleep), 한 번에 calls 개를 StructuredFanOut 으로 보낸다.
+ * - platform 은 spring boot 기본 풀 크기(8)와 같게 잡았다. → 동시에 실행되는 요청 수가 8 에 묶인다.
+ * - 동시에 실행된 요청 수의 최댓값은 보조 지표 maxInFlight 로 기록한다. (virtual 이면 calls 만큼 올라감, results.json 의 rawData 에 측정 반복마다의 값)
+ * - virtual 은 Java 21 이상에서만 실행된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FanOutConcurrencyBenchmark {
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class InFlight {
+		public int maxInFlight;
+	}
+
+	@Param({"platform", "virtual"})
+	private String executorType;
+
+	@Param({"200"})
+	private int calls;
+
+	@Param({"20"})
+	private int latencyMs;
+
+	private AsyncTaskExecutor executor;
+	private StructuredFanOut fanOut;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		if ("virtual".equals(executorType)) {
+			executor = new VirtualThreadTaskExecutor("fan-out-");
+		} else {
+			ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+			pool.setCorePoolSize(8);
+			pool.setMaxPoolSize(8);
+			pool.setThreadNamePrefix("fan-out-");
+			pool.initialize();
+			executor = pool;
+		}
+		fanOut = new StructuredFanOut(executor);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (executor instanceof ThreadPoolTaskExecutor pool) {
+			pool.shutdown();
+		}
+	}
+
+	@Benchmark
+	public int fanOut(InFlight counters) throws Exception {
+		maxInFlight.set(0);
+		try (StructuredFanOut.Scope scope = fanOut.open()) {
+			List<StructuredFanOut.Subtask<Integer>> subtasks = new ArrayList<>(calls);
+			for (int i = 0; i < calls; i++) {
+				subtasks.add(scope.fork(this::externalCall));
+			}
+			scope.join();
+
+			int sum = 0;
+			for (StructuredFanOut.Subtask<Integer> subtask : subtasks) {
+				sum += subtask.get();
+			}
+			counters.maxInFlight = maxInFlight.get();
+			return sum;
+		}
+	}
+
+	private Integer externalCall() throws InterruptedException {
+		int current = inFlight.incrementAndGet();
+		maxInFlight.accumulateAndGet(current, Math::max);
+		try {
+			Thread.sleep(latencyMs);
+			return 1;
+		} finally {
+			inFlight.decrementAndGet();
+		}
+	}
+}
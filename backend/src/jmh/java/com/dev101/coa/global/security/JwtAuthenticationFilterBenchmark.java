@@ -0,0 +1,116 @@
+package com.dev101.coa.global.security;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 하나당 JWT 인증 필터 비용
+ * - filter: JwtAuthenticationCookieFilter 를 그대로 통과시킨다. (uncached: 검증 캐시 끔 → 매번 서명 검증 1번, cached: 같은 토큰 반복)
+ * - legacyDoubleParse: 바꾸기 전 방식 (요청마다 파서를 새로 만들고 validateToken, getMemberIdFromJWT 에서 두 번 검증)
+ * - 요청 / 응답은 필터가 쓰는 메서드만 답하는 proxy (쿠키, 속성)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+	private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+	@Param({"uncached", "cached"})
+	private String cache;
+
+	private JwtAuthenticationCookieFilter filter;
+	private String jwt;
+	private HttpServletResponse response;
+	private FilterChain chain;
+
+	@Setup
+	public void setUp() {
+		JwtTokenProvider provider = new JwtTokenProvider(SECRET, 3600, "cached".equals(cache) ? 10000 : 0, new SimpleMeterRegistry());
+		filter = new JwtAuthenticationCookieFilter(provider);
+
+		Date now = new Date();
+		jwt = Jwts.builder()
+			.setSubject("12")
+			.setIssuedAt(now)
+			.setExpiration(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+			.signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+			.compact();
+
+		response = (HttpServletResponse)Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class<?>[] {HttpServletResponse.class}, (proxy, method, args) -> defaultValue(method.getReturnType()));
+		chain = (request, response) -> {
+		};
+	}
+
+	@Benchmark
+	public Object filter() throws Exception {
+		try {
+			filter.doFilter(request(jwt), response, chain);
+			return SecurityContextHolder.getContext().getAuthentication();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+	@Benchmark
+	public Long legacyDoubleParse() {
+		byte[] secret = SECRET.getBytes(StandardCharsets.UTF_8);
+		Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(secret)).build().parseClaimsJws(jwt);
+		Claims claims = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(secret)).build().parseClaimsJws(jwt).getBody();
+		return Long.parseLong(claims.getSubject());
+	}
+
+	private HttpServletRequest request(String token) {
+		Map<String, Object> attributes = new HashMap<>();
+		Cookie[] cookies = {new Cookie("JWT", token)};
+		return (HttpServletRequest)Proxy.newProxyInstance(getClass().getClassLoader(),
+			new Class<?>[] {HttpServletRequest.class}, (proxy, method, args) -> switch (method.getName()) {
+				case "getCookies" -> cookies;
+				case "getDispatcherType" -> DispatcherType.REQUEST;
+				case "getRemoteAddr" -> "127.0.0.1";
+				case "getAttribute" -> attributes.get((String)args[0]);
+				case "setAttribute" -> attributes.put((String)args[0], args[1]);
+				case "removeAttribute" -> attributes.remove((String)args[0]);
+				default -> defaultValue(method.getReturnType());
+			});
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		return null;
+	}
+}
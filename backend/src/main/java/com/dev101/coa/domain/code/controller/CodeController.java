@@ -1,16 +1,19 @@
 package com.dev101.coa.domain.code.controller;
 
 import com.dev101.coa.domain.code.dto.CommonCodeResDto;
+import com.dev101.coa.domain.code.service.CodeRegistry;
 import com.dev101.coa.domain.code.service.CodeService;
 import com.dev101.coa.global.common.BaseResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
@@ -20,10 +23,17 @@ public class CodeController {
 
     private final CodeService codeService;
 
-    @Operation(description = "공통 코드 전체 반환")
+    @Operation(description = "공통 코드 전체 반환 - If-None-Match 가 ETag 와 같으면 304")
     @GetMapping("/common/code")
-    public ResponseEntity<BaseResponse<CommonCodeResDto>> getCommonCodes() {
-        CommonCodeResDto commonCodeResDto = codeService.getAllCommonCodes();
-        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(commonCodeResDto));
+    public ResponseEntity<BaseResponse<CommonCodeResDto>> getCommonCodes(WebRequest webRequest) {
+        CodeRegistry.Snapshot snapshot = codeService.getAllCommonCodes();
+        // 바뀌지 않았으면 본문 없이 304 (ETag 헤더는 checkNotModified 가 넣는다)
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(new BaseResponse<>(snapshot.commonCodes()));
     }
 }
@@ -10,4 +10,7 @@ import lombok.Getter;
 public class CodeCntDto {
     private String codeName;
     private Integer lineCnt;
+    // 표본으로 추정한 줄 수이면 true, lineCntMargin 은 95% 신뢰구간 반폭
+    private Boolean approximate;
+    private Integer lineCntMargin;
 }
@@ -3,6 +3,7 @@ package com.dev101.coa.domain.code.repository;
 import com.dev101.coa.domain.code.entity.Code;
 import com.dev101.coa.domain.code.entity.Type;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +17,8 @@ public interface CodeRepository extends JpaRepository<Code, Long> {
 
     List<Code> findByType(Type type);
 
+    // 타입까지 한 번에 읽는다. (CodeRegistry 가 영속성 컨텍스트 밖에서 code.getType() 을 쓸 수 있도록)
+    @Query("select c from Code c join fetch c.type")
+    List<Code> findAllWithType();
+
 }
@@ -0,0 +1,222 @@
+package com.dev101.coa.domain.code.service;
+
+import com.dev101.coa.domain.code.dto.CommonCodeResDto;
+import com.dev101.coa.domain.code.entity.Code;
+import com.dev101.coa.domain.code.entity.Type;
+import com.dev101.coa.domain.code.repository.CodeRepository;
+import com.dev101.coa.domain.code.repository.TypeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 공통 코드(code, type 테이블) 노드 메모리 사본
+ * - 시작할 때 한 번 읽어서 id / 이름 / 타입별로 바로 찾을 수 있는 읽기 전용 맵으로 들고 있는다. (요청마다 코드 테이블 조회 X)
+ * - 다시 읽는 경우
+ *   1) refresh-interval-ms 마다 다시 읽어서 내용(etag)이 바뀌었을 때만 바꿔 끼운다. (SQL 로 직접 고친 코드도 반영)
+ *   2) 관리자가 actuator /codes 에 POST → 현재 노드를 다시 읽고 REFRESH_CHANNEL 로 다른 노드에도 알린다.
+ * - 돌려주는 Code / Type 은 영속성 컨텍스트 밖(detached) 객체다. 연관관계 값으로 저장에 쓰는 건 괜찮지만 setter 로 고치지 않는다.
+ * - /api/common/code 응답(CommonCodeResDto)과 그 etag 도 같이 만들어 둔다.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "codes")
+public class CodeRegistry implements MessageListener {
+
+    public static final String REFRESH_CHANNEL = "code:refresh";
+
+    public record Snapshot(Map<Long, Code> codes, Map<String, Code> codesByName, Map<String, Type> types,
+                           Map<String, List<Code>> codesByType, CommonCodeResDto commonCodes, String etag,
+                           Instant loadedAt) {
+    }
+
+    private final CodeRepository codeRepository;
+    private final TypeRepository typeRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long refreshIntervalMs;
+
+    private volatile Snapshot snapshot;
+    private Disposable periodicRefresh;
+
+    public CodeRegistry(CodeRepository codeRepository, TypeRepository typeRepository, StringRedisTemplate stringRedisTemplate,
+                        @Value("${app.code.registry.refresh-interval-ms:300000}") long refreshIntervalMs) {
+        this.codeRepository = codeRepository;
+        this.typeRepository = typeRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        snapshot();
+        if (refreshIntervalMs > 0) {
+            periodicRefresh = Schedulers.boundedElastic().schedulePeriodically(this::refreshQuietly,
+                    refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (periodicRefresh != null) {
+            periodicRefresh.dispose();
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public Optional<Code> findByCodeId(Long codeId) {
+        return Optional.ofNullable(snapshot().codes().get(codeId));
+    }
+
+    public Optional<Code> findByCodeName(String codeName) {
+        return Optional.ofNullable(snapshot().codesByName().get(codeName));
+    }
+
+    public Optional<Type> findTypeById(String typeId) {
+        return Optional.ofNullable(snapshot().types().get(typeId));
+    }
+
+    public List<Code> findByTypeId(String typeId) {
+        return snapshot().codesByType().getOrDefault(typeId, List.of());
+    }
+
+    // 다시 읽어서 내용이 바뀌었으면 바꿔 끼운다. (바뀌었으면 true)
+    public synchronized boolean refresh() {
+        Snapshot loaded = load();
+        Snapshot current = snapshot;
+        if (current != null && current.etag().equals(loaded.etag())) {
+            return false;
+        }
+        snapshot = loaded;
+        log.info("code registry refreshed: codes={}, types={}, etag={}", loaded.codes().size(), loaded.types().size(), loaded.etag());
+        return true;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Snapshot current = snapshot();
+        return Map.of(
+                "codes", current.codes().size(),
+                "types", current.types().size(),
+                "etag", current.etag(),
+                "loadedAt", current.loadedAt().toString());
+    }
+
+    // 관리자용: 현재 노드를 다시 읽고 다른 노드에도 알린다.
+    @WriteOperation
+    public Map<String, Object> refreshAll() {
+        boolean changed = refresh();
+        try {
+            stringRedisTemplate.convertAndSend(REFRESH_CHANNEL, snapshot().etag());
+        } catch (RuntimeException e) {
+            // 다른 노드는 refresh-interval-ms 가 지나면 다시 읽는다.
+            log.warn("failed to publish code registry refresh", e);
+        }
+        Map<String, Object> result = new LinkedHashMap<>(status());
+        result.put("changed", changed);
+        return result;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String etag = new String(message.getBody(), StandardCharsets.UTF_8);
+        Snapshot current = snapshot;
+        if (current != null && current.etag().equals(etag)) {
+            return;
+        }
+        refreshQuietly();
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // 읽지 못하면 지금 사본을 그대로 쓴다.
+            log.warn("code registry refresh failed", e);
+        }
+    }
+
+    private Snapshot load() {
+        List<Type> typeList = typeRepository.findAll();
+        List<Code> codeList = codeRepository.findAllWithType();
+
+        Map<String, Type> types = new LinkedHashMap<>();
+        typeList.stream()
+                .sorted(Comparator.comparing(Type::getTypeId))
+                .forEach(type -> types.put(type.getTypeId(), type));
+
+        Map<Long, Code> codes = new LinkedHashMap<>();
+        Map<String, Code> codesByName = new HashMap<>();
+        Map<String, List<Code>> codesByType = new LinkedHashMap<>();
+        codeList.stream()
+                .sorted(Comparator.comparing(Code::getCodeId))
+                .forEach(code -> {
+                    codes.put(code.getCodeId(), code);
+                    // 이름이 겹치면 id 가 작은 코드
+                    codesByName.putIfAbsent(code.getCodeName(), code);
+                    codesByType.computeIfAbsent(code.getType().getTypeId(), typeId -> new ArrayList<>()).add(code);
+                });
+
+        Map<String, Map<Long, String>> groupedCodes = codesByType.entrySet().stream()
+                .collect(Collectors.toMap(
+                        Map.Entry::getKey,
+                        entry -> entry.getValue().stream().collect(Collectors.toMap(Code::getCodeId, Code::getCodeName)),
+                        (a, b) -> a,
+                        LinkedHashMap::new));
+
+        return new Snapshot(
+                Collections.unmodifiableMap(codes),
+                Map.copyOf(codesByName),
+                Collections.unmodifiableMap(types),
+                codesByType.entrySet().stream()
+                        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue()))),
+                new CommonCodeResDto(groupedCodes, types),
+                etag(types, codes),
+                Instant.now());
+    }
+
+    // 정렬된 내용의 해시 → 같은 내용이면 노드가 달라도 같은 etag
+    private static String etag(Map<String, Type> types, Map<Long, Code> codes) {
+        StringBuilder content = new StringBuilder();
+        types.values().forEach(type -> content.append(type.getTypeId()).append('\t').append(type.getTypeName()).append('\n'));
+        codes.values().forEach(code -> content.append(code.getCodeId()).append('\t').append(code.getCodeName())
+                .append('\t').append(code.getType().getTypeId()).append('\n'));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
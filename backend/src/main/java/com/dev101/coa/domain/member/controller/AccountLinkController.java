@@ -1,7 +1,7 @@
 package com.dev101.coa.domain.member.controller;
 
 import com.dev101.coa.domain.code.entity.Code;
-import com.dev101.coa.domain.code.repository.CodeRepository;
+import com.dev101.coa.domain.code.service.CodeRegistry;
 import com.dev101.coa.domain.member.dto.AccountLinkInfoDto;
 import com.dev101.coa.domain.member.dto.NickNameDto;
 import com.dev101.coa.domain.member.entity.AccountLink;
@@ -9,6 +9,7 @@ import com.dev101.coa.domain.member.entity.Member;
 import com.dev101.coa.domain.member.repository.AccountLinkRepository;
 import com.dev101.coa.domain.member.repository.MemberRepository;
 import com.dev101.coa.domain.member.service.MemberService;
+import com.dev101.coa.domain.member.service.PlatformCredentialResolver;
 import com.dev101.coa.global.common.BaseResponse;
 import com.dev101.coa.global.common.StatusCode;
 import com.dev101.coa.global.exception.BaseException;
@@ -33,10 +34,11 @@ public class AccountLinkController {
 
 
     private final MemberRepository memberRepository;
-    private final CodeRepository codeRepository;
+    private final CodeRegistry codeRegistry;
     private final AccountLinkRepository accountLinkRepository;
     private final EncryptionUtils encryptionUtils;
     private final MemberService memberService;
+    private final PlatformCredentialResolver platformCredentialResolver;
 
     @Operation(description = "연결 페이지 정보")
     @GetMapping("")
@@ -56,7 +58,7 @@ public class AccountLinkController {
     @PostMapping("/solvedac")
     public ResponseEntity<BaseResponse<String>> saveNickNameSolved(@AuthenticationPrincipal Long memberId, @RequestBody NickNameDto nickNameDto) {
         Member member = memberRepository.findByMemberId(memberId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
-        Code code = codeRepository.findByCodeId(1004L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+        Code code = codeRegistry.findByCodeId(1004L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
         String nickName = nickNameDto.getNickName();
 
         saveAccountLinkNickName(nickName, member, code);
@@ -68,7 +70,7 @@ public class AccountLinkController {
     @PostMapping("/codeforces")
     public ResponseEntity<BaseResponse<String>> saveNickNameCodeforces(@AuthenticationPrincipal Long memberId, @RequestBody NickNameDto nickNameDto) {
         Member member = memberRepository.findByMemberId(memberId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
-        Code code = codeRepository.findByCodeId(1005L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+        Code code = codeRegistry.findByCodeId(1005L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
         String nickName = nickNameDto.getNickName();
 
         saveAccountLinkNickName(nickName, member, code);
@@ -90,6 +92,7 @@ public class AccountLinkController {
                     .build();
         }
         accountLinkRepository.save(accountLink);
+        platformCredentialResolver.invalidate(member.getMemberId(), code.getCodeId());
     }
 
     @Operation(description = "멤버 Github 토큰 저장")
@@ -112,7 +115,7 @@ public class AccountLinkController {
     }
 
     private void getHttpHeaders(long codeId, String receiveToken, Member member) throws Exception {
-        Code platCode = codeRepository.findByCodeId(codeId).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+        Code platCode = codeRegistry.findByCodeId(codeId).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
         // 멤버, 코드로 AccountLink 찾기
         AccountLink accountLink = accountLinkRepository.findByMemberAndCode(member, platCode).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
 
@@ -121,12 +124,13 @@ public class AccountLinkController {
     }
 
     private void saveAccountLink(String receiveToken, AccountLink accountLink) throws Exception {
-        encryptionUtils.init();
         // 외부 토큰 암호화
         String encryptedToken = encryptionUtils.encrypt(receiveToken);
         // 외부 API 토큰 업데이트
         accountLink.updateReceiveToken(encryptedToken);
         accountLinkRepository.save(accountLink);
+        // 캐시된 예전 토큰 지우기
+        platformCredentialResolver.invalidate(accountLink.getMember().getMemberId(), accountLink.getCode().getCodeId());
     }
 
 }
@@ -0,0 +1,13 @@
+package com.dev101.coa.domain.member.dto;
+
+/**
+ * 외부 플랫폼(GitHub 1002, GitLab 1003) 요청에 바로 쓸 수 있는 연동 계정 정보 (PlatformCredentialResolver)
+ * - accessToken 은 복호화된 평문이라 toString 에 넣지 않는다. (로그에 남지 않도록)
+ */
+public record PlatformCredential(Long memberId, Long platformCodeId, String nickname, String email, String accessToken) {
+
+    @Override
+    public String toString() {
+        return "PlatformCredential[memberId=" + memberId + ", platformCodeId=" + platformCodeId + ", nickname=" + nickname + "]";
+    }
+}
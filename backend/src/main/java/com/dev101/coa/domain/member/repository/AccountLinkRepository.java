@@ -3,9 +3,13 @@ package com.dev101.coa.domain.member.repository;
 import com.dev101.coa.domain.code.entity.Code;
 import com.dev101.coa.domain.member.entity.AccountLink;
 import com.dev101.coa.domain.member.entity.Member;
+import com.dev101.coa.global.config.EntityCacheConfig;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,16 +22,27 @@ public interface AccountLinkRepository extends JpaRepository<AccountLink, Long>
 
     Boolean existsAccountLinkByMemberAndAccountLinkNickname(Member member, String accountLinkNickname);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheConfig.ACCOUNT_LINK_QUERIES)})
     Optional<AccountLink> findByMemberAndCode(Member member, Code code);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheConfig.ACCOUNT_LINK_QUERIES)})
     Optional<AccountLink> findByMemberAndCodeCodeId(Member member, Long codeId);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheConfig.ACCOUNT_LINK_QUERIES)})
+    Optional<AccountLink> findByMemberMemberIdAndCodeCodeId(Long memberId, Long codeId);
+
     List<AccountLink> findByAccountLinkNicknameContaining(String keyword);
 
+    // 벌크 수정은 다른 노드의 2차 캐시를 지우지 못한다. (EntityCacheInvalidator) 엔티티의 updateAccountLinkFields 를 쓴다.
     @Modifying
     @Transactional
     @Query("UPDATE AccountLink al SET al.accountLinkNickname = :nickName, al.accountLinkToken = :token, al.accountLinkRefreshToken = :refreshToken WHERE al.accountLinkId = :id")
     void updateAccountLinkFields(Long id, String nickName, String token, String refreshToken);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheConfig.ACCOUNT_LINK_QUERIES)})
     List<AccountLink> findAllByMember(Member member);
 }
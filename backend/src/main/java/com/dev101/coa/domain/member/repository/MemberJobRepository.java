@@ -2,11 +2,17 @@ package com.dev101.coa.domain.member.repository;
 
 import com.dev101.coa.domain.member.entity.Member;
 import com.dev101.coa.domain.member.entity.MemberJob;
+import com.dev101.coa.global.config.EntityCacheConfig;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MemberJobRepository extends JpaRepository<MemberJob, Long> {
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheConfig.MEMBER_JOB_QUERIES)})
     MemberJob findByMember(Member member);
 }
@@ -2,10 +2,14 @@ package com.dev101.coa.domain.member.repository;
 
 import com.dev101.coa.domain.code.entity.Code;
 import com.dev101.coa.domain.member.entity.Member;
+import com.dev101.coa.global.config.EntityCacheConfig;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,11 +19,17 @@ import java.util.UUID;
 @Repository
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Member findByMemberEmail(String email);
-    Optional<Member> findByMemberId(Long memberId);
+
+    // 요청마다 부르는 조회라 쿼리 대신 id 조회로 2차 캐시(EntityCacheConfig)를 탄다.
+    default Optional<Member> findByMemberId(Long memberId) {
+        return findById(memberId);
+    }
 
     @Query("SELECT m FROM Member m JOIN AccountLink al on m.memberId = al.member.memberId WHERE m.memberNickname LIKE %:keyword% OR al.accountLinkNickname LIKE %:keyword% ORDER BY m.memberUuid")
     Page<Member> findMemberByNickname(@Param("keyword") String keyword, Pageable pageable);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = EntityCacheConfig.MEMBER_QUERIES)})
     Optional<Member> findByMemberUuid(UUID memberUuid);
 
     Member findByMemberNicknameAndMemberPlatformCode(String nickName, Code code);
@@ -0,0 +1,29 @@
+package com.dev101.coa.domain.member.service;
+
+import com.dev101.coa.domain.member.entity.AccountLink;
+import com.dev101.coa.domain.member.repository.AccountLinkRepository;
+import com.dev101.coa.global.security.service.EncryptionUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 연동 계정의 외부 API 토큰(accountLinkReceiveToken) 복호화
+ * - 예전 형식(ECB)으로 저장된 토큰은 읽을 때 새 형식(GCM)으로 다시 암호화해서 저장한다. (lazy migration)
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountLinkTokenService {
+
+    private final EncryptionUtils encryptionUtils;
+    private final AccountLinkRepository accountLinkRepository;
+
+    public String decryptReceiveToken(AccountLink accountLink) throws Exception {
+        String encryptedToken = accountLink.getAccountLinkReceiveToken();
+        String token = encryptionUtils.decrypt(encryptedToken);
+        if (encryptionUtils.isLegacy(encryptedToken)) {
+            accountLink.updateReceiveToken(encryptionUtils.encrypt(token));
+            accountLinkRepository.save(accountLink);
+        }
+        return token;
+    }
+}
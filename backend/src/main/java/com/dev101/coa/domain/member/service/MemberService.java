@@ -2,8 +2,7 @@ package com.dev101.coa.domain.member.service;
 
 import com.dev101.coa.domain.code.entity.Code;
 import com.dev101.coa.domain.code.entity.Type;
-import com.dev101.coa.domain.code.repository.CodeRepository;
-import com.dev101.coa.domain.code.repository.TypeRepository;
+import com.dev101.coa.domain.code.service.CodeRegistry;
 import com.dev101.coa.domain.member.dto.*;
 import com.dev101.coa.domain.member.entity.*;
 import com.dev101.coa.domain.member.repository.*;
@@ -39,11 +38,10 @@ public class MemberService {
     private final AccountLinkRepository accountLinkRepository;
     private final BookmarkRepository bookmarkRepository;
     private final MemberSkillRepository memberSkillRepository;
-    private final CodeRepository codeRepository;
+    private final CodeRegistry codeRegistry;
     private final CommitScoreRepository commitScoreRepository;
     private final MemberJobRepository memberJobRepository;
     private final RepoViewRepository repoViewRepository;
-    private final TypeRepository typeRepository;
     private final LineOfCodeRepository lineOfCodeRepository;
 
 
@@ -187,7 +185,7 @@ public class MemberService {
     public void editMember(Member member, MemberCardReq memberCardReq) {
         member.updateMemberIntro(memberCardReq.getIntroduce());
 
-        Code jobCode = codeRepository.findByCodeId(memberCardReq.getJobCodeId())
+        Code jobCode = codeRegistry.findByCodeId(memberCardReq.getJobCodeId())
                 .orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
 
 
@@ -203,7 +201,7 @@ public class MemberService {
 
 
         memberCardReq.getSkillIdList().forEach((codeId) -> {
-            Code code = codeRepository.findByCodeId(codeId).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+            Code code = codeRegistry.findByCodeId(codeId).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
             MemberSkill memberSkill = MemberSkill.builder()
                     .member(member)
                     .skillCode(code)
@@ -322,8 +320,8 @@ public class MemberService {
 
     public List<CntBySkillDto> getMemberCntBySkill() {
         // 타입이 기술인 코드들 가져오기
-        Type type = typeRepository.findById("3").orElseThrow(() -> new BaseException(StatusCode.TYPE_NOT_FOUND));
-        List<Code> codeList = codeRepository.findByType(type);
+        Type type = codeRegistry.findTypeById("3").orElseThrow(() -> new BaseException(StatusCode.TYPE_NOT_FOUND));
+        List<Code> codeList = codeRegistry.findByTypeId(type.getTypeId());
 
         List<CntBySkillDto> memberCntBySkillDtoList = new ArrayList<>();
 
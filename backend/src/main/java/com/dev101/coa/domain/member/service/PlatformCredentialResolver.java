@@ -0,0 +1,130 @@
+package com.dev101.coa.domain.member.service;
+
+import com.dev101.coa.domain.member.dto.PlatformCredential;
+import com.dev101.coa.domain.member.entity.AccountLink;
+import com.dev101.coa.domain.member.repository.AccountLinkRepository;
+import com.dev101.coa.global.common.StatusCode;
+import com.dev101.coa.global.exception.BaseException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * (member, 플랫폼) → 외부 요청에 바로 쓸 연동 계정 정보 (복호화된 토큰, 닉네임, 이메일)
+ * - AccountLink 조회와 토큰 복호화를 요청마다 하지 않도록 노드 메모리에 짧게(app.credential.cache.ttl-ms) 캐시한다.
+ * - 평문 토큰은 이 노드의 메모리에만 둔다. (redis 에 저장하지 않고, 무효화 메시지에는 memberId:codeId 만 보낸다. PlatformCredential.toString 에도 없음)
+ * - 토큰이 바뀌면(AccountLinkController, OAuth2AuthenticationSuccessHandler) invalidate → INVALIDATE_CHANNEL 로 다른 노드의 항목도 지운다.
+ *   트랜잭션 안이면 커밋한 뒤에 지운다. (커밋 전에 지우면 다른 요청이 예전 값을 다시 캐시할 수 있음)
+ * - 지표: platformCredentials (적중률 등)
+ */
+@Slf4j
+@Service
+public class PlatformCredentialResolver implements MessageListener {
+
+    public static final String INVALIDATE_CHANNEL = "credential:invalidate";
+
+    private record Key(Long memberId, Long platformCodeId) {
+    }
+
+    private final AccountLinkRepository accountLinkRepository;
+    private final AccountLinkTokenService accountLinkTokenService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<Key, PlatformCredential> cache;
+
+    // 무효화가 일어날 때마다 증가, DB 에서 읽는 동안 무효화가 있었으면 읽은 값을 캐시에 넣지 않는다.
+    private final AtomicLong invalidationSeq = new AtomicLong();
+
+    public PlatformCredentialResolver(AccountLinkRepository accountLinkRepository, AccountLinkTokenService accountLinkTokenService,
+                                      StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry,
+                                      @Value("${app.credential.cache.max-size:10000}") long maxSize,
+                                      @Value("${app.credential.cache.ttl-ms:60000}") long ttlMs) {
+        this.accountLinkRepository = accountLinkRepository;
+        this.accountLinkTokenService = accountLinkTokenService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "platformCredentials");
+    }
+
+    public PlatformCredential resolve(Long memberId, Long platformCodeId) throws Exception {
+        Key key = new Key(memberId, platformCodeId);
+        PlatformCredential cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long seq = invalidationSeq.get();
+        AccountLink accountLink = accountLinkRepository.findByMemberMemberIdAndCodeCodeId(memberId, platformCodeId)
+                .orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
+        PlatformCredential credential = new PlatformCredential(memberId, platformCodeId, accountLink.getAccountLinkNickname(),
+                accountLink.getAccountLinkEmail(), accountLinkTokenService.decryptReceiveToken(accountLink));
+        if (invalidationSeq.get() == seq) {
+            cache.put(key, credential);
+        }
+        return credential;
+    }
+
+    // 캐시에 있을 때만 (reactive 체인에서 DB 조회 스케줄러로 넘어가기 전에 확인)
+    public Optional<PlatformCredential> getIfCached(Long memberId, Long platformCodeId) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(memberId, platformCodeId)));
+    }
+
+    // 연동 계정 정보가 바뀌었을 때 (현재 노드, 다른 노드 모두)
+    public void invalidate(Long memberId, Long platformCodeId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictAndPublish(memberId, platformCodeId);
+                }
+            });
+            return;
+        }
+        evictAndPublish(memberId, platformCodeId);
+    }
+
+    private void evictAndPublish(Long memberId, Long platformCodeId) {
+        evict(new Key(memberId, platformCodeId));
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, memberId + ":" + platformCodeId);
+        } catch (RuntimeException e) {
+            // 다른 노드는 ttl 이 지나면 다시 읽는다.
+            log.warn("failed to publish credential invalidation: memberId={}, platformCodeId={}", memberId, platformCodeId, e);
+        }
+    }
+
+    private void evict(Key key) {
+        invalidationSeq.incrementAndGet();
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] ids = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (ids.length != 2) {
+            return;
+        }
+        try {
+            evict(new Key(Long.parseLong(ids[0]), Long.parseLong(ids[1])));
+        } catch (NumberFormatException e) {
+            log.warn("ignore invalid credential invalidation message");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dev101.coa.domain.redis;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 회원별 진행 중인 분석 인덱스 (active:{memberId} sorted set, member: analysisId, score: 분석 시작 시각(epoch ms))
+ * - 분석 결과(result:{analysisId}) 저장과 함께 원자적으로 갱신된다. (RedisRepoRepositoryImpl 은 Lua 스크립트, AI 서버 dto.py 는 MULTI)
+ * - 상태가 200 미만이면 추가(처음 시각 유지), 200 이상(완료, 에러)이면 제거
+ * - 진척도 조회 heartbeat(poll:{analysisId})가 만료된 분석은 조회할 때 인덱스에서만 뺀다. (RepoService.getActiveAnalyses)
+ * - result:* 전체를 훑지 않고 회원별 진행 중인 분석을 찾기 위해 사용한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ActiveAnalysisIndex {
+
+	public static final String KEY_PREFIX = "active:";
+
+	private final StringRedisTemplate stringRedisTemplate;
+
+	// 진행 중 상태인지 (000 수신 전, 1xx 처리 중)
+	public static boolean isActive(String status) {
+		return status != null && Integer.parseInt(status) < 200;
+	}
+
+	// 시작 시각 순으로 (analysisId, 시작 시각)
+	public List<ZSetOperations.TypedTuple<String>> findAll(Long memberId) {
+		Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet().rangeWithScores(KEY_PREFIX + memberId, 0, -1);
+		return tuples == null ? List.of() : new ArrayList<>(tuples);
+	}
+
+	public void remove(Long memberId, Collection<String> analysisIds) {
+		if (analysisIds.isEmpty()) {
+			return;
+		}
+		stringRedisTemplate.opsForZSet().remove(KEY_PREFIX + memberId, analysisIds.toArray());
+	}
+}
@@ -0,0 +1,98 @@
+package com.dev101.coa.domain.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 분석 취소 플래그와 진척도 조회 heartbeat
+ * - cancel:{analysisId} : 취소 요청 표시. AI 서버는 단계 사이에서, 코드 줄 수 수집은 페이지 사이에서 확인하고 멈춘다.
+ * - poll:{analysisId} : 진척도를 조회할 때마다 ttl 을 다시 건다. 만료되면(조회가 끊기면) AI 서버가 취소된 것으로 보고 멈춘다.
+ * - AI 서버가 결과 값 전체를 덮어쓰기 때문에 취소 표시는 결과(result:{analysisId})와 다른 키에 둔다.
+ */
+@Repository
+public class AnalysisCancellation {
+
+	public static final String CANCEL_KEY_PREFIX = "cancel:";
+	public static final String POLL_KEY_PREFIX = "poll:";
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+	private final Duration cancelTtl;
+	private final Duration pollTtl;
+
+	// 노드마다 같은 분석의 heartbeat 를 pollTouchInterval 에 한 번만 redis 에 쓴다.
+	private final Cache<String, Boolean> recentlyTouched;
+
+	public AnalysisCancellation(StringRedisTemplate stringRedisTemplate, ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+		@Value("${analysis.cancel.ttl-sec:3600}") long cancelTtlSec,
+		@Value("${analysis.cancel.abandoned-poll-min:5}") long abandonedPollMin,
+		@Value("${analysis.cancel.poll-touch-interval-sec:30}") long pollTouchIntervalSec) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+		this.cancelTtl = Duration.ofSeconds(cancelTtlSec);
+		this.pollTtl = Duration.ofMinutes(abandonedPollMin);
+		this.recentlyTouched = Caffeine.newBuilder()
+			.expireAfterWrite(Duration.ofSeconds(pollTouchIntervalSec))
+			.maximumSize(100_000)
+			.build();
+	}
+
+	public void cancel(String analysisId) {
+		stringRedisTemplate.opsForValue().set(CANCEL_KEY_PREFIX + analysisId, "1", cancelTtl);
+		stringRedisTemplate.delete(POLL_KEY_PREFIX + analysisId);
+		recentlyTouched.invalidate(analysisId);
+	}
+
+	// 파이프라인 안에서 확인하므로 응답을 기다리며 스레드를 막지 않는다.
+	public Mono<Boolean> isCancelled(String analysisId) {
+		return reactiveStringRedisTemplate.hasKey(CANCEL_KEY_PREFIX + analysisId);
+	}
+
+	// 분석 시작 시 heartbeat 시작
+	public void startPolling(String analysisId) {
+		stringRedisTemplate.opsForValue().set(POLL_KEY_PREFIX + analysisId, "1", pollTtl);
+		recentlyTouched.put(analysisId, Boolean.TRUE);
+	}
+
+	// heartbeat 가 만료된(조회가 끊긴) 분석 (한 번의 pipeline 으로 확인)
+	public Set<String> findNotPolling(List<String> analysisIds) {
+		if (analysisIds.isEmpty()) {
+			return Set.of();
+		}
+		List<Object> exists = stringRedisTemplate.executePipelined((RedisCallback<Object>)connection -> {
+			for (String analysisId : analysisIds) {
+				connection.keyCommands().exists((POLL_KEY_PREFIX + analysisId).getBytes(StandardCharsets.UTF_8));
+			}
+			return null;
+		});
+		Set<String> notPolling = new HashSet<>();
+		for (int i = 0; i < analysisIds.size(); i++) {
+			if (!Boolean.TRUE.equals(exists.get(i))) {
+				notPolling.add(analysisIds.get(i));
+			}
+		}
+		return notPolling;
+	}
+
+	public Mono<Boolean> touchPolling(String analysisId) {
+		if (recentlyTouched.getIfPresent(analysisId) != null) {
+			return Mono.just(Boolean.TRUE);
+		}
+		recentlyTouched.put(analysisId, Boolean.TRUE);
+		return reactiveStringRedisTemplate.opsForValue().set(POLL_KEY_PREFIX + analysisId, "1", pollTtl);
+	}
+}
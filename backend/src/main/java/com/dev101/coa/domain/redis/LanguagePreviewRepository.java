@@ -0,0 +1,50 @@
+package com.dev101.coa.domain.redis;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.dev101.coa.domain.repo.dto.LanguagePreviewDto;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * 분석 저장 중(코드 줄 수 수집 중) 보여줄 언어별 미리보기 (loc:preview:{analysisId})
+ * - 저장을 시작할 때 만들고, 저장이 끝나면(정확한 코드 줄 수가 저장되면) 삭제한다.
+ */
+@Repository
+public class LanguagePreviewRepository {
+
+	public static final String KEY_PREFIX = "loc:preview:";
+
+	private static final Type PREVIEW_LIST_TYPE = new TypeToken<List<LanguagePreviewDto>>() {
+	}.getType();
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final Gson gson;
+	private final Duration ttl;
+
+	public LanguagePreviewRepository(StringRedisTemplate stringRedisTemplate, Gson gson,
+		@Value("${analysis.loc.checkpoint-ttl-sec:86400}") long ttlSec) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.gson = gson;
+		this.ttl = Duration.ofSeconds(ttlSec);
+	}
+
+	public List<LanguagePreviewDto> findById(String analysisId) {
+		String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + analysisId);
+		return json == null ? List.of() : gson.fromJson(json, PREVIEW_LIST_TYPE);
+	}
+
+	public void save(String analysisId, List<LanguagePreviewDto> preview) {
+		stringRedisTemplate.opsForValue().set(KEY_PREFIX + analysisId, gson.toJson(preview), ttl);
+	}
+
+	public void deleteById(String analysisId) {
+		stringRedisTemplate.delete(KEY_PREFIX + analysisId);
+	}
+}
@@ -0,0 +1,47 @@
+package com.dev101.coa.domain.redis;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 코드 줄 수 수집 진행 상태 (loc:{analysisId})
+ * - headSha: 처음 수집을 시작할 때의 최신 커밋, 이후 페이지는 이 커밋 기준으로 요청해서 새 push 가 있어도 페이지가 밀리지 않는다.
+ * - page / lastSha: 다음에 요청할 페이지와 그 페이지에서 마지막으로 처리한 커밋 (없으면 페이지 처음부터)
+ * - totals: 지금까지의 언어별 추가 줄 수
+ * - bulkLines: diff 없이 stats 로만 센 큰 커밋의 추가 줄 수 (언어별로 나눌 수 없어서 따로 집계, 표본 모드에서도 전부 센 값)
+ * - sampled: 표본 추정 모드, 이때는 totals 대신 estimates(언어별 추정 줄 수)와 variances(추정 분산)를 페이지가 끝날 때마다 누적한다.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@ToString
+public class LocCheckpoint {
+    private String headSha;
+    private int page;
+    private String lastSha;
+    private int commitCnt;
+    private int apiCallCnt;
+    private long bulkLines;
+    private Map<String, Integer> totals;
+    private boolean sampled;
+    private Map<String, Double> estimates;
+    private Map<String, Double> variances;
+    private boolean complete;
+
+    public static LocCheckpoint start(boolean sampled) {
+        return LocCheckpoint.builder()
+                .page(1)
+                .totals(new HashMap<>())
+                .sampled(sampled)
+                .estimates(new HashMap<>())
+                .variances(new HashMap<>())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.dev101.coa.domain.redis;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.google.gson.Gson;
+
+/**
+ * 코드 줄 수 수집 체크포인트 저장소
+ * - 재시작 / 타임아웃 후 같은 분석을 다시 저장하면 마지막 체크포인트부터 이어서 수집한다.
+ */
+@Repository
+public class LocCheckpointRepository {
+
+	public static final String KEY_PREFIX = "loc:";
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final Gson gson;
+	private final Duration ttl;
+
+	public LocCheckpointRepository(StringRedisTemplate stringRedisTemplate, Gson gson,
+		@Value("${analysis.loc.checkpoint-ttl-sec:86400}") long ttlSec) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.gson = gson;
+		this.ttl = Duration.ofSeconds(ttlSec);
+	}
+
+	public Optional<LocCheckpoint> findById(String analysisId) {
+		String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + analysisId);
+		return Optional.ofNullable(json).map(value -> gson.fromJson(value, LocCheckpoint.class));
+	}
+
+	public void save(String analysisId, LocCheckpoint checkpoint) {
+		stringRedisTemplate.opsForValue().set(KEY_PREFIX + analysisId, gson.toJson(checkpoint), ttl);
+	}
+
+	public void deleteById(String analysisId) {
+		stringRedisTemplate.delete(KEY_PREFIX + analysisId);
+	}
+}
@@ -0,0 +1,37 @@
+package com.dev101.coa.domain.redis;
+
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * 분석 결과(result:{analysisId}) non-blocking 조회
+ * - 진척도 체크, 완료 결과, 진척도 스트림처럼 자주 호출되는 경로에서 사용한다.
+ * - 노드별 near-cache(RedisResultNearCache)를 먼저 확인한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRedisResultRepository {
+
+	private final ReactiveRedisTemplate<String, RedisResult> reactiveRedisResultTemplate;
+	private final RedisResultNearCache nearCache;
+
+	public Mono<RedisResult> findById(String id) {
+		return Mono.defer(() -> {
+			RedisResult cached = nearCache.get(id);
+			if (cached != null) {
+				return Mono.just(cached);
+			}
+			long seq = nearCache.currentSeq();
+			return reactiveRedisResultTemplate.opsForValue().get(RedisRepoRepository.KEY_PREFIX + id)
+				.doOnNext(value -> nearCache.put(id, value, seq));
+		});
+	}
+
+	public Mono<Boolean> deleteById(String id) {
+		return reactiveRedisResultTemplate.delete(RedisRepoRepository.KEY_PREFIX + id)
+			.flatMap(deleted -> nearCache.invalidateReactive(id).thenReturn(deleted > 0));
+	}
+}
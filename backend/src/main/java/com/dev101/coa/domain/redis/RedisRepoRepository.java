@@ -1,8 +1,41 @@
 package com.dev101.coa.domain.redis;
 
-import org.springframework.data.repository.CrudRepository;
+import java.util.Optional;
+
 import org.springframework.stereotype.Repository;
 
+/**
+ * 분석 결과 (result:{analysisId})
+ * - 키 하나씩 읽고 쓰는 메서드만 둔다. 전체 조회 / 개수 / 전체 삭제는 keyspace 를 훑어야 해서 제공하지 않는다.
+ *   회원별 진행 중인 분석은 ActiveAnalysisIndex 로 찾는다.
+ */
 @Repository
-public interface RedisRepoRepository extends CrudRepository<RedisResult, String> {
+public interface RedisRepoRepository extends org.springframework.data.repository.Repository<RedisResult, String> {
+    String KEY_PREFIX = "result:";
+
+    <S extends RedisResult> S save(S entity);
+
+    /**
+     * 진행 중인 분석으로 저장하면서 회원의 진행 중 분석 수를 maxActive 개까지로 제한한다.
+     * - 인덱스 개수 확인과 추가를 한 스크립트로 하므로 동시에 시작해도 maxActive 를 넘지 않는다.
+     * - 이미 인덱스에 있는 분석(상태 갱신)과 끝난 분석은 제한 없이 저장한다.
+     * @return 제한에 걸려 저장하지 않았으면 false
+     */
+    boolean saveWithinActiveLimit(RedisResult entity, int maxActive);
+
+    <S extends RedisResult> Iterable<S> saveAll(Iterable<S> entities);
+
+    Optional<RedisResult> findById(String id);
+
+    boolean existsById(String id);
+
+    Iterable<RedisResult> findAllById(Iterable<String> ids);
+
+    void deleteById(String id);
+
+    void delete(RedisResult entity);
+
+    void deleteAllById(Iterable<? extends String> ids);
+
+    void deleteAll(Iterable<? extends RedisResult> entities);
 }
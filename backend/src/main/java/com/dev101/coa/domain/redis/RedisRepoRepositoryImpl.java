@@ -1,14 +1,17 @@
 package com.dev101.coa.domain.redis;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
 
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
-import com.google.gson.Gson;
-
 import lombok.RequiredArgsConstructor;
 
 @Repository
@@ -16,16 +19,69 @@ import lombok.RequiredArgsConstructor;
 @Primary
 public class RedisRepoRepositoryImpl implements RedisRepoRepository {
 
-	private final RedisTemplate<String, String> redisTemplate;
-	private final Gson gson;
+	// 분석 결과와 회원별 진행 중 인덱스(ActiveAnalysisIndex)를 스크립트 하나로 갱신 (원자적, 공유 연결에서 그대로 실행)
+	// KEYS[1] result:{analysisId}, KEYS[2] active:{memberId} (회원이 없으면 생략)
+	// ARGV[1] 값, ARGV[2] add / rem, ARGV[3] 시작 시각(epoch ms), ARGV[4] analysisId,
+	// ARGV[5] 회원별 최대 진행 중 분석 수 (0 이면 제한 없음), ARGV[6] ttl 초 (0 이면 만료 없음)
+	// 새로 추가하는 분석이 최대 개수에 걸리면 아무것도 쓰지 않고 0 을 돌려준다.
+	private static final RedisScript<Long> SAVE_SCRIPT = RedisScript.of("""
+		local limit = tonumber(ARGV[5])
+		if KEYS[2] and ARGV[2] == 'add' and limit > 0
+				and not redis.call('ZSCORE', KEYS[2], ARGV[4])
+				and redis.call('ZCARD', KEYS[2]) >= limit then
+			return 0
+		end
+		local ttl = tonumber(ARGV[6])
+		if ttl > 0 then
+			redis.call('SET', KEYS[1], ARGV[1], 'EX', ttl)
+		else
+			redis.call('SET', KEYS[1], ARGV[1])
+		end
+		if KEYS[2] then
+			if ARGV[2] == 'add' then
+				redis.call('ZADD', KEYS[2], 'NX', ARGV[3], ARGV[4])
+			else
+				redis.call('ZREM', KEYS[2], ARGV[4])
+			end
+		end
+		return 1
+		""", Long.class);
+
+	// KEYS[1] result:{analysisId}, KEYS[2] active:{memberId} (회원이 없으면 생략), ARGV[1] analysisId
+	private static final RedisScript<Long> DELETE_SCRIPT = RedisScript.of("""
+		redis.call('DEL', KEYS[1])
+		if KEYS[2] then
+			redis.call('ZREM', KEYS[2], ARGV[1])
+		end
+		return 1
+		""", Long.class);
+
+	// 값은 VersionedJsonRedisSerializer 로 인코딩된다. (RedisConfig)
+	private final RedisTemplate<String, RedisResult> redisResultTemplate;
+	private final RedisResultNearCache nearCache;
 
 	@Override
 	public <S extends RedisResult> S save(S entity) {
-		String json = gson.toJson(entity);
-		redisTemplate.opsForValue().set("result:" + entity.getAnalysisId(), json);
+		saveWithinActiveLimit(entity, 0);
 		return entity;
 	}
 
+	@Override
+	public boolean saveWithinActiveLimit(RedisResult entity, int maxActive) {
+		byte[] rawValue = valueSerializer().serialize(entity);
+		String mode = ActiveAnalysisIndex.isActive(entity.getStatus()) ? "add" : "rem";
+		long ttlSec = entity.getExpireSec() == null ? 0 : entity.getExpireSec();
+
+		Long saved = redisResultTemplate.execute(SAVE_SCRIPT, RedisSerializer.byteArray(), null, keys(entity),
+			rawValue, raw(mode), raw(String.valueOf(System.currentTimeMillis())), raw(entity.getAnalysisId()),
+			raw(String.valueOf(Math.max(0, maxActive))), raw(String.valueOf(ttlSec)));
+		if (saved == null || saved == 0) {
+			return false;
+		}
+		nearCache.invalidate(entity.getAnalysisId());
+		return true;
+	}
+
 	@Override
 	public <S extends RedisResult> Iterable<S> saveAll(Iterable<S> entities) {
 		for (S entity : entities) {
@@ -36,20 +92,19 @@ public class RedisRepoRepositoryImpl implements RedisRepoRepository {
 
 	@Override
 	public Optional<RedisResult> findById(String id) {
-		String json = redisTemplate.opsForValue().get("result:" + id);
-		RedisResult result = gson.fromJson(json, RedisResult.class);
-		return Optional.ofNullable(result);
+		RedisResult cached = nearCache.get(id);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
+		long seq = nearCache.currentSeq();
+		RedisResult value = redisResultTemplate.opsForValue().get(KEY_PREFIX + id);
+		nearCache.put(id, value, seq);
+		return Optional.ofNullable(value);
 	}
 
 	@Override
 	public boolean existsById(String id) {
-		String json = redisTemplate.opsForValue().get("result:" + id);
-		return json != null;
-	}
-
-	@Override
-	public Iterable<RedisResult> findAll() {
-		throw new UnsupportedOperationException("Not implemented");
+		return Boolean.TRUE.equals(redisResultTemplate.hasKey(KEY_PREFIX + id));
 	}
 
 	@Override
@@ -61,19 +116,19 @@ public class RedisRepoRepositoryImpl implements RedisRepoRepository {
 			.toList();
 	}
 
-	@Override
-	public long count() {
-		throw new UnsupportedOperationException("Not implemented");
-	}
-
 	@Override
 	public void deleteById(String id) {
-		redisTemplate.delete("result:" + id);
+		findById(id).ifPresentOrElse(this::delete, () -> {
+			redisResultTemplate.delete(KEY_PREFIX + id);
+			nearCache.invalidate(id);
+		});
 	}
 
 	@Override
 	public void delete(RedisResult entity) {
-		deleteById(entity.getAnalysisId());
+		redisResultTemplate.execute(DELETE_SCRIPT, RedisSerializer.byteArray(), null, keys(entity),
+			raw(entity.getAnalysisId()));
+		nearCache.invalidate(entity.getAnalysisId());
 	}
 
 	@Override
@@ -90,8 +145,22 @@ public class RedisRepoRepositoryImpl implements RedisRepoRepository {
 		}
 	}
 
-	@Override
-	public void deleteAll() {
-		throw new UnsupportedOperationException("Not implemented");
+	// result:{analysisId}, 회원이 있으면 active:{memberId}
+	private List<String> keys(RedisResult entity) {
+		List<String> keys = new ArrayList<>(2);
+		keys.add(KEY_PREFIX + entity.getAnalysisId());
+		if (entity.getMemberId() != null) {
+			keys.add(ActiveAnalysisIndex.KEY_PREFIX + entity.getMemberId());
+		}
+		return keys;
+	}
+
+	private static byte[] raw(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	@SuppressWarnings("unchecked")
+	private RedisSerializer<RedisResult> valueSerializer() {
+		return (RedisSerializer<RedisResult>)redisResultTemplate.getValueSerializer();
 	}
-}
\ No newline at end of file
+}
@@ -1,9 +1,11 @@
 package com.dev101.coa.domain.redis;
 
 import com.dev101.coa.domain.repo.dto.AiResultDto;
+import com.dev101.coa.domain.repo.dto.AnalysisEstimateDto;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.redis.core.RedisHash;
@@ -13,6 +15,7 @@ import java.time.LocalDate;
 
 @RedisHash("result")
 @AllArgsConstructor
+@NoArgsConstructor
 @Builder
 @Getter
 @ToString
@@ -27,6 +30,12 @@ public class RedisResult {
     private Integer percentage;
     private LocalDate repoStartDate;
     private LocalDate repoEndDate;
+    // 분석, 코드 줄 수 수집에서 본 커밋 범위 (CommitWindow)
+    private LocalDate analysisSince;
+    private LocalDate analysisUntil;
+    private Integer maxCommits;
+    // 시작 전 비용 추정 (저장 시 실제 비용과 비교)
+    private AnalysisEstimateDto estimate;
     private Integer repoMemberCnt;
     private AiResultDto result;
     private String status;
@@ -0,0 +1,97 @@
+package com.dev101.coa.domain.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+/**
+ * 분석 결과(result:{analysisId}) 노드별 near-cache
+ * - 분석 중에는 프론트가 1초마다 진척도를 조회하지만 값은 작업당 몇 번만 바뀐다.
+ * - 값이 바뀌면(상태 / 진척도 저장, 삭제) INVALIDATE_CHANNEL 로 analysisId 를 발행하고, 모든 노드가 구독해서 해당 항목을 지운다.
+ * - AI 서버(ai/app/api/models/dto.py)도 저장할 때 같은 채널로 발행한다.
+ * - 메시지가 유실되더라도 ttl 이 지나면 다시 redis 에서 읽는다.
+ */
+@Component
+public class RedisResultNearCache implements MessageListener {
+
+	public static final String INVALIDATE_CHANNEL = "result:invalidate";
+
+	private final Cache<String, RedisResult> cache;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+	// 무효화가 일어날 때마다 증가, redis 에서 읽는 동안 무효화가 있었으면 읽은 값을 캐시에 넣지 않는다.
+	private final AtomicLong invalidationSeq = new AtomicLong();
+
+	public RedisResultNearCache(StringRedisTemplate stringRedisTemplate,
+		ReactiveStringRedisTemplate reactiveStringRedisTemplate, MeterRegistry meterRegistry,
+		@Value("${redis.near-cache.max-size:10000}") long maxSize,
+		@Value("${redis.near-cache.ttl-ms:30000}") long ttlMs) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(Duration.ofMillis(ttlMs))
+			.recordStats()
+			.build();
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, "analysisNearCache");
+		Gauge.builder("analysis.near-cache.hit-ratio", cache, c -> c.stats().hitRate())
+			.description("분석 결과 near-cache 적중률")
+			.register(meterRegistry);
+	}
+
+	public RedisResult get(String analysisId) {
+		return cache.getIfPresent(analysisId);
+	}
+
+	// redis 에서 읽기 직전에 호출해서 받은 값을 put 에 넘긴다.
+	public long currentSeq() {
+		return invalidationSeq.get();
+	}
+
+	public void put(String analysisId, RedisResult value, long seqBeforeRead) {
+		if (value == null || invalidationSeq.get() != seqBeforeRead) {
+			return;
+		}
+		cache.put(analysisId, value);
+	}
+
+	// 현재 노드의 항목을 지우고 다른 노드에도 알린다.
+	public void invalidate(String analysisId) {
+		evict(analysisId);
+		stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, analysisId);
+	}
+
+	public Mono<Long> invalidateReactive(String analysisId) {
+		return Mono.defer(() -> {
+			evict(analysisId);
+			return reactiveStringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, analysisId);
+		});
+	}
+
+	public void evict(String analysisId) {
+		invalidationSeq.incrementAndGet();
+		cache.invalidate(analysisId);
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		evict(new String(message.getBody(), StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,110 @@
+package com.dev101.coa.domain.redis;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Redis 값 코덱
+ * - 헤더: [MAGIC(0xC0)][스키마 버전][플래그] + JSON 본문 (플래그 FLAG_GZIP 이면 gzip 압축)
+ * - 헤더가 없는 값은 기존(Gson, AI 서버)이 저장한 평문 JSON 으로 보고 그대로 읽는다.
+ * - AI 서버(ai/app/api/models/dto.py)도 같은 형식을 읽고 쓴다.
+ */
+public class VersionedJsonRedisSerializer<T> implements RedisSerializer<T> {
+
+	// 0xC0 은 UTF-8 에서 쓰이지 않는 바이트라서 평문 JSON 과 겹치지 않는다.
+	public static final byte MAGIC = (byte)0xC0;
+	public static final byte SCHEMA_VERSION = 1;
+	public static final byte FLAG_GZIP = 0x01;
+	private static final int HEADER_SIZE = 3;
+
+	private final ObjectReader reader;
+	private final ObjectWriter writer;
+	private final int compressThreshold;
+
+	public VersionedJsonRedisSerializer(Class<T> type, int compressThreshold) {
+		// Gson 과 같은 모양의 JSON 을 만들기 위해 필드 기준으로 직렬화하고 null 은 생략한다.
+		JsonMapper mapper = JsonMapper.builder()
+			.addModule(new JavaTimeModule())
+			.addModule(new BlackbirdModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.serializationInclusion(JsonInclude.Include.NON_NULL)
+			.visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+			.visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+			.visibility(PropertyAccessor.CREATOR, JsonAutoDetect.Visibility.ANY)
+			.build();
+		this.reader = mapper.readerFor(type);
+		this.writer = mapper.writerFor(type);
+		this.compressThreshold = compressThreshold;
+	}
+
+	@Override
+	public byte[] serialize(T value) throws SerializationException {
+		if (value == null) {
+			return null;
+		}
+		try {
+			byte[] json = writer.writeValueAsBytes(value);
+			boolean compress = json.length >= compressThreshold;
+			byte[] body = compress ? gzip(json) : json;
+
+			byte[] bytes = new byte[HEADER_SIZE + body.length];
+			bytes[0] = MAGIC;
+			bytes[1] = SCHEMA_VERSION;
+			bytes[2] = compress ? FLAG_GZIP : 0;
+			System.arraycopy(body, 0, bytes, HEADER_SIZE, body.length);
+			return bytes;
+		} catch (IOException e) {
+			throw new SerializationException("Could not write redis value", e);
+		}
+	}
+
+	@Override
+	public T deserialize(byte[] bytes) throws SerializationException {
+		if (bytes == null || bytes.length == 0) {
+			return null;
+		}
+		try {
+			// 헤더가 없는 기존 평문 JSON
+			if (bytes[0] != MAGIC) {
+				return reader.readValue(bytes);
+			}
+			if (bytes.length < HEADER_SIZE || bytes[1] > SCHEMA_VERSION) {
+				throw new SerializationException("Unsupported redis value schema version: " + (bytes.length > 1 ? bytes[1] : -1));
+			}
+			InputStream body = new ByteArrayInputStream(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+			if ((bytes[2] & FLAG_GZIP) != 0) {
+				body = new GZIPInputStream(body);
+			}
+			return reader.readValue(body);
+		} catch (IOException e) {
+			throw new SerializationException("Could not read redis value", e);
+		}
+	}
+
+	private byte[] gzip(byte[] json) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 16);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		}
+		return out.toByteArray();
+	}
+}
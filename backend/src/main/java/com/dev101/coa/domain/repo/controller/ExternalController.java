@@ -1,15 +1,17 @@
 package com.dev101.coa.domain.repo.controller;
 
 
-import com.dev101.coa.domain.member.entity.AccountLink;
+import com.dev101.coa.domain.member.dto.PlatformCredential;
 import com.dev101.coa.domain.member.entity.Member;
-import com.dev101.coa.domain.member.repository.AccountLinkRepository;
 import com.dev101.coa.domain.member.repository.MemberRepository;
+import com.dev101.coa.domain.member.service.PlatformCredentialResolver;
 import com.dev101.coa.domain.repo.service.ExternalApiService;
 import com.dev101.coa.global.common.BaseResponse;
+import com.dev101.coa.global.common.RequestBudget;
+import com.dev101.coa.global.common.RequestDeadline;
 import com.dev101.coa.global.common.StatusCode;
 import com.dev101.coa.global.exception.BaseException;
-import com.dev101.coa.global.security.service.EncryptionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -23,7 +25,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Scheduler;
-import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 import java.util.Map;
@@ -33,132 +34,107 @@ import java.util.UUID;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/external")
+@RequestBudget(20_000)
 public class ExternalController {
+
+    // 시간 예산 안에 다 모으지 못한 부분 결과
+    public static final String PARTIAL_HEADER = "X-Coa-Partial";
+
     private final ExternalApiService externalApiService;
     private final MemberRepository memberRepository;
-    private final AccountLinkRepository accountLinkRepository;
-    private final EncryptionUtils encryptionUtils;
-    private final Scheduler dbScheduler = Schedulers.boundedElastic();
+    private final PlatformCredentialResolver platformCredentialResolver;
+    // JPA 조회 전용 스케줄러 (SchedulerConfig)
+    private final Scheduler jpaScheduler;
     private final ObjectMapper objectMapper;
 
     @GetMapping("/github/repos/{userName}")
-    public ResponseEntity<BaseResponse<String>> getGithubRepos(@AuthenticationPrincipal Long currentId, @PathVariable("userName") String userName) throws Exception {
-        Member member = memberRepository.findByMemberId(currentId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
-        AccountLink accountLink = accountLinkRepository.findByMemberAndCodeCodeId(member, 1002L).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-        String accessToken = encryptionUtils.decrypt(accountLink.getAccountLinkReceiveToken());
-        String result = externalApiService.fetchGithubReposSync(userName, accessToken);
-
-        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
+    public Mono<ResponseEntity<BaseResponse<String>>> getGithubRepos(@AuthenticationPrincipal Long currentId, @PathVariable("userName") String userName) {
+        return RequestDeadline.bound(resolveCredential(currentId, 1002L)
+                .flatMap(credential -> externalApiService.fetchGithubRepos(userName, credential.accessToken()))
+                .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
     }
 
 
     @GetMapping("/gitlab/repos/{userName}")
-    public ResponseEntity<BaseResponse<String>> getGitlabRepos(@AuthenticationPrincipal Long currentId, @PathVariable("userName") String userName) throws Exception {
-        Member member = memberRepository.findByMemberId(currentId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
-        AccountLink accountLink = accountLinkRepository.findByMemberAndCodeCodeId(member, 1003L).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-        String accessToken = encryptionUtils.decrypt(accountLink.getAccountLinkReceiveToken());
-
-        String result = externalApiService.fetchGitlabRepos(userName, accessToken);
-
-        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
+    public Mono<ResponseEntity<BaseResponse<String>>> getGitlabRepos(@AuthenticationPrincipal Long currentId, @PathVariable("userName") String userName) {
+        return RequestDeadline.bound(resolveCredential(currentId, 1003L)
+                .flatMap(credential -> externalApiService.fetchGitlabRepos(userName, credential.accessToken()))
+                .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
     }
 
     @GetMapping("/github/members/{userName}/{projectName}")
-    public ResponseEntity<BaseResponse<String>> getGitHubMembers(@AuthenticationPrincipal Long currentId, @PathVariable("userName") String userName, @PathVariable("projectName") String projectName) throws Exception {
-        Member member = memberRepository.findByMemberId(currentId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
-        AccountLink accountLink = accountLinkRepository.findByMemberAndCodeCodeId(member, 1002L).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-        String accessToken = encryptionUtils.decrypt(accountLink.getAccountLinkReceiveToken());
-
-        String result = externalApiService.fetchGitHubMembers(userName, projectName, accessToken);
-        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
+    public Mono<ResponseEntity<BaseResponse<String>>> getGitHubMembers(@AuthenticationPrincipal Long currentId, @PathVariable("userName") String userName, @PathVariable("projectName") String projectName) {
+        return RequestDeadline.bound(resolveCredential(currentId, 1002L)
+                .flatMap(credential -> externalApiService.fetchGitHubMembers(userName, projectName, credential.accessToken()))
+                .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
     }
 
     @GetMapping("/gitlab/projects/{projectName}")
-    public ResponseEntity<BaseResponse<String>> getGitlabUserId(@AuthenticationPrincipal Long currentId, @PathVariable("projectName") String projectName) throws Exception {
-        Member member = memberRepository.findByMemberId(currentId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
-        AccountLink accountLink = accountLinkRepository.findByMemberAndCodeCodeId(member, 1003L).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-        String accessToken = encryptionUtils.decrypt(accountLink.getAccountLinkReceiveToken());
-
-        String userName = accountLink.getAccountLinkNickname();
-
-        String projectId = externalApiService.handleGitlabProject(userName, accessToken, projectName);
-
-        List<Map<String, Object>> mans = externalApiService.fetchGitlabMembers(projectId, accessToken);
-
-        // 각 멤버에 projectId 추가
-        for (Map<String, Object> man : mans) {
-            man.put("projectId", projectId);
-        }
-        String result = objectMapper.writeValueAsString(mans);
-
-        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
+    public Mono<ResponseEntity<BaseResponse<String>>> getGitlabUserId(@AuthenticationPrincipal Long currentId, @PathVariable("projectName") String projectName) {
+        return RequestDeadline.bound(resolveCredential(currentId, 1003L)
+                .flatMap(credential -> {
+                    String accessToken = credential.accessToken();
+                    return externalApiService.handleGitlabProject(credential.nickname(), accessToken, projectName)
+                            .flatMap(projectId -> externalApiService.fetchGitlabMembers(projectId, accessToken)
+                                    .<String>handle((mans, sink) -> {
+                                        // 각 멤버에 projectId 추가
+                                        for (Map<String, Object> man : mans) {
+                                            man.put("projectId", projectId);
+                                        }
+                                        try {
+                                            sink.next(objectMapper.writeValueAsString(mans));
+                                        } catch (JsonProcessingException e) {
+                                            sink.error(e);
+                                        }
+                                    }));
+                })
+                .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
     }
 
 
     @Operation(description = "깃헙 잔디 602 -> 링크 X , 303 -> 토큰 확인(외부 에러)")
     @GetMapping("/events/github/{memberUuid}")
-    public ResponseEntity<BaseResponse<Map<String, Object>>> getGitHubUserEvents(@PathVariable String memberUuid) {
-        return findMemberByUuid(memberUuid)
-                        .flatMap(this::findGithubAccountLink)
-                        .flatMap(gitHubAccountLink -> {
-                            String githubUserName = gitHubAccountLink.getAccountLinkNickname();
-                            return decryptToken(gitHubAccountLink.getAccountLinkReceiveToken())
-                                    .flatMap(githubAccessToken -> externalApiService.fetchGithubIssue(githubUserName, githubAccessToken));
-                        })
-                        .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))).block();
+    public Mono<ResponseEntity<BaseResponse<Map<String, Object>>>> getGitHubUserEvents(@PathVariable String memberUuid) {
+        return RequestDeadline.bound(findMemberByUuid(memberUuid)
+                        .flatMap(member -> resolveCredential(member.getMemberId(), 1002L))
+                        .flatMap(credential -> externalApiService.fetchGithubIssue(credential.nickname(), credential.accessToken()))
+                        .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
     }
 
     @Operation(description = "깃랩 잔디 602 -> 링크 X , 303 -> 토큰 확인(외부 에러)")
     @GetMapping("/events/gitlab/{memberUuid}")
-    public ResponseEntity<BaseResponse<Map<String, Object>>> getGitLabUserEvents(@PathVariable String memberUuid) {
-        return findMemberByUuid(memberUuid)
-                        .flatMap(this::findGitLabAccountLink)
-                        .flatMap(gitLabAccountLink -> {
-                            String gitLabUserName = gitLabAccountLink.getAccountLinkNickname();
-                            return decryptToken(gitLabAccountLink.getAccountLinkReceiveToken())
-                                    .flatMap(gitLabAccessToken -> externalApiService.fetchGitLabIssue(gitLabUserName, gitLabAccessToken));
-                        })
-                        .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))).block();
+    public Mono<ResponseEntity<BaseResponse<Map<String, Object>>>> getGitLabUserEvents(@PathVariable String memberUuid) {
+        return RequestDeadline.bound(findMemberByUuid(memberUuid)
+                        .flatMap(member -> resolveCredential(member.getMemberId(), 1003L))
+                        .flatMap(credential -> externalApiService.fetchGitLabIssue(credential.nickname(), credential.accessToken()))
+                        .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
     }
 
+    @RequestBudget(30_000)
+    @Operation(description = "깃헙 레포별 코드 줄 수 - 시간 예산 안에 다 세지 못하면 센 레포까지만 돌려준다. (X-Coa-Partial: true)")
     @GetMapping("/github/{memberUuid}/lines-of-code")
     public Mono<ResponseEntity<BaseResponse<List<Map<String, Object>>>>> getGitHubUserProjects(@PathVariable String memberUuid) {
         return findMemberByUuid(memberUuid)
-                .flatMap(this::findGithubAccountLink)
-                .flatMap(gitHubAccountLink -> {
-                    String githubUserName = gitHubAccountLink.getAccountLinkNickname();
-                    return decryptToken(gitHubAccountLink.getAccountLinkReceiveToken())
-                            .flatMap(githubAccessToken -> externalApiService.fetchGitHubContributions(githubUserName, githubAccessToken));
-                })
-                .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result)));
+                .flatMap(member -> resolveCredential(member.getMemberId(), 1002L))
+                .flatMap(credential -> externalApiService.fetchGitHubContributions(credential.nickname(), credential.accessToken()))
+                .map(result -> ResponseEntity.status(HttpStatus.OK)
+                        .header(PARTIAL_HEADER, String.valueOf(result.partial()))
+                        .body(new BaseResponse<>(result.items())))
+                // 마감 시각에 에러로 끊지 않고 그때까지 센 결과를 돌려주도록 timeout 없이 마감 시각만 넘긴다.
+                .contextWrite(RequestDeadline.context());
     }
 
 
-    private Mono<Member> findMemberByUuid(String memberUuid) {
-        return Mono.fromCallable(() -> memberRepository.findByMemberUuid(UUID.fromString(memberUuid))
-                        .orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST)))
-                .subscribeOn(dbScheduler);
+    // 캐시에 있으면 바로, 없으면 JPA 스케줄러에서 조회 / 복호화 (PlatformCredentialResolver)
+    private Mono<PlatformCredential> resolveCredential(Long memberId, Long codeId) {
+        return Mono.justOrEmpty(platformCredentialResolver.getIfCached(memberId, codeId))
+                .switchIfEmpty(RequestDeadline.blocking(() -> platformCredentialResolver.resolve(memberId, codeId))
+                        .subscribeOn(jpaScheduler));
     }
 
-    private Mono<AccountLink> findGithubAccountLink(Member member) {
-        return Mono.fromCallable(() -> accountLinkRepository.findByMemberAndCodeCodeId(member, 1002L)
-                        .orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST)))
-                .subscribeOn(dbScheduler);
-    }
-
-    private Mono<AccountLink> findGitLabAccountLink(Member member) {
-        return Mono.fromCallable(() -> accountLinkRepository.findByMemberAndCodeCodeId(member, 1003L)
-                        .orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST)))
-                .subscribeOn(dbScheduler);
-    }
-
-    private Mono<String> decryptToken(String encryptedToken) {
-        return Mono.fromCallable(() -> {
-            try {
-                return encryptionUtils.decrypt(encryptedToken);
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        }).subscribeOn(Schedulers.boundedElastic());
+    private Mono<Member> findMemberByUuid(String memberUuid) {
+        return RequestDeadline.blocking(() -> memberRepository.findByMemberUuid(UUID.fromString(memberUuid))
+                        .orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST)))
+                .subscribeOn(jpaScheduler);
     }
 }
@@ -4,14 +4,20 @@ import com.dev101.coa.domain.member.dto.CntBySkillDto;
 import com.dev101.coa.domain.repo.dto.*;
 import com.dev101.coa.domain.repo.service.RepoService;
 import com.dev101.coa.global.common.BaseResponse;
+import com.dev101.coa.global.common.RequestBudget;
+import com.dev101.coa.global.common.RequestDeadline;
 import com.dev101.coa.global.common.StatusCode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
@@ -57,6 +63,7 @@ public class RepoController {
     }
 
 
+    // 예산 없음: 코드 줄 수 수집이 오래 걸려도 끝까지 저장한다. (화면은 실패하면 에러 페이지로 가므로 805 로 끊지 않음)
     @Operation(description = "분석 결과 저장")
     @PostMapping("/{analysisId}")
     public ResponseEntity<BaseResponse<Long>> saveAnalysis(
@@ -69,7 +76,29 @@ public class RepoController {
         return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
     }
 
-    @Operation(description = "분석 요청")
+    @RequestBudget(120_000)
+    @Operation(description = "코드 줄 수 다시 세기 (표본 추정 없이 전체 커밋)")
+    @PostMapping("/{repoViewId}/line-of-code/recount")
+    public ResponseEntity<BaseResponse<Object>> recountLinesOfCode(
+            @AuthenticationPrincipal Long currentMemberId,
+            @PathVariable("repoViewId") Long repoViewId) throws Exception {
+
+        repoService.recountLinesOfCode(currentMemberId, repoViewId);
+        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(StatusCode.SUCCESS));
+    }
+
+    @RequestBudget(15_000)
+    @Operation(description = "분석 비용 추정 (분석을 시작하지 않음, decision: RUN / SAMPLE / QUEUE / REJECT)")
+    @PostMapping("/analysis/estimate")
+    public ResponseEntity<BaseResponse<AnalysisEstimateDto>> estimateAnalysis(
+            @AuthenticationPrincipal Long currentMemberId,
+            @RequestBody AnalysisReqDto analysisReqDto) throws Exception {
+        AnalysisEstimateDto result = repoService.estimateAnalysis(currentMemberId, analysisReqDto);
+        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
+    }
+
+    @RequestBudget(30_000)
+    @Operation(description = "분석 요청 (추정 결과가 QUEUE / REJECT 면 실패 응답의 result 로 추정 결과 반환)")
     @PostMapping("/analysis")
     public ResponseEntity<BaseResponse<String>> startAnalysis(
             @AuthenticationPrincipal Long currentMemberId,
@@ -78,25 +107,65 @@ public class RepoController {
         return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<String>(analysisId));
     }
 
+    @Operation(description = "진행 중인 내 분석 목록")
+    @GetMapping("/analysis/active")
+    public ResponseEntity<BaseResponse<List<ActiveAnalysisResDto>>> getActiveAnalyses(
+            @AuthenticationPrincipal Long currentMemberId) {
+
+        List<ActiveAnalysisResDto> result = repoService.getActiveAnalyses(currentMemberId);
+        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
+    }
+
+    @RequestBudget(5_000)
     @Operation(description = "분석 진척도 체크")
     @GetMapping("/analysis/{analysisId}")
-    public ResponseEntity<BaseResponse<AnalysisCheckResDto>> checkAnalysis(
+    public Mono<ResponseEntity<BaseResponse<AnalysisCheckResDto>>> checkAnalysis(
             @AuthenticationPrincipal Long currentMemberId,
             @PathVariable("analysisId") String analysisId) {
 
-        AnalysisCheckResDto result = repoService.checkAnalysis(currentMemberId, analysisId);
+        return RequestDeadline.bound(repoService.checkAnalysis(currentMemberId, analysisId)
+                .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
+    }
+
+    @Operation(description = "분석 진척도 스트림(SSE) - progress 이벤트로 진척도, error 이벤트로 실패 코드 전달")
+    @GetMapping(value = "/analysis/{analysisId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<BaseResponse<AnalysisCheckResDto>>> streamAnalysis(
+            @AuthenticationPrincipal Long currentMemberId,
+            @PathVariable("analysisId") String analysisId) {
+
+        return repoService.streamAnalysis(currentMemberId, analysisId);
+    }
+
+
+    @Operation(description = "분석 저장 중 언어 미리보기 (레포 전체 언어 통계 기준 임시 값, 저장이 끝나면 레포 뷰의 코드 줄 수로 대체)")
+    @GetMapping("/analysis/{analysisId}/languages/preview")
+    public ResponseEntity<BaseResponse<List<LanguagePreviewDto>>> getLanguagePreview(
+            @AuthenticationPrincipal Long currentMemberId,
+            @PathVariable("analysisId") String analysisId) {
+
+        List<LanguagePreviewDto> result = repoService.getLanguagePreview(currentMemberId, analysisId);
         return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
     }
 
+    @Operation(description = "분석 취소")
+    @PostMapping("/analysis/{analysisId}/cancel")
+    public ResponseEntity<BaseResponse<Object>> cancelAnalysis(
+            @AuthenticationPrincipal Long currentMemberId,
+            @PathVariable("analysisId") String analysisId) {
 
+        repoService.cancelAnalysis(currentMemberId, analysisId);
+        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(StatusCode.SUCCESS));
+    }
+
+    @RequestBudget(10_000)
     @Operation(description = "완료된 분석 결과 가져오기")
     @GetMapping("/analysis/done/{analysisId}")
-    public ResponseEntity<BaseResponse<RepoDetailResDto>> getDoneAnalysis(
+    public Mono<ResponseEntity<BaseResponse<RepoDetailResDto>>> getDoneAnalysis(
             @AuthenticationPrincipal Long currentMemberId,
             @PathVariable("analysisId") String analysisId) {
 
-        RepoDetailResDto result = repoService.getDoneAnalysis(currentMemberId, analysisId);
-        return ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result));
+        return RequestDeadline.bound(repoService.getDoneAnalysis(currentMemberId, analysisId)
+                .map(result -> ResponseEntity.status(HttpStatus.OK).body(new BaseResponse<>(result))));
     }
 
     @Operation(description = "특정 레포 뷰 조회")
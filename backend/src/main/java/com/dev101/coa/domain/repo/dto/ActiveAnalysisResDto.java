@@ -0,0 +1,16 @@
+package com.dev101.coa.domain.repo.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ActiveAnalysisResDto {
+    private String analysisId;
+    private String repoPath;
+    private Integer percentage;
+    private String status;
+    private LocalDateTime startedAt;
+}
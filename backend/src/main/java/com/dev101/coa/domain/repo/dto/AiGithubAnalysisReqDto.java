@@ -14,4 +14,8 @@ public class AiGithubAnalysisReqDto {
     private String repoPath;
     private String userName;
     private String accessToken;
+    // 커밋 범위 (yyyy-MM-dd, 없으면 null)
+    private String since;
+    private String until;
+    private Integer maxCommits;
 }
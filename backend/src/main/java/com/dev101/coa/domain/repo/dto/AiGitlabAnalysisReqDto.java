@@ -15,4 +15,8 @@ public class AiGitlabAnalysisReqDto {
     private String projectId;
     private String userName;
     private String privateToken;
+    // 커밋 범위 (yyyy-MM-dd, 없으면 null)
+    private String since;
+    private String until;
+    private Integer maxCommits;
 }
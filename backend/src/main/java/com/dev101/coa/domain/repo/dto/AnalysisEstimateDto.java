@@ -0,0 +1,46 @@
+package com.dev101.coa.domain.repo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분석 시작 전 비용 추정 (AnalysisCostEstimator)
+ * - 분석 결과(result:{analysisId})에 같이 저장해서 저장 시 실제 비용과 비교한다.
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisEstimateDto {
+
+    public enum Decision {
+        RUN, QUEUE, SAMPLE, REJECT
+    }
+
+    @Schema(description = "분석 기간 안의 커밋 수 (알 수 없으면 null)")
+    private Long commitCnt;
+    @Schema(description = "최대 커밋 수를 적용한 분석 대상 커밋 수")
+    private Long targetCommitCnt;
+    @Schema(description = "레포 크기(KB)")
+    private Long repoSizeKb;
+    @Schema(description = "AI 분석 예상 API 요청 수 (파일 내용 + 커밋)")
+    private Long aiApiCalls;
+    @Schema(description = "코드 줄 수 수집 예상 API 요청 수 (전체 커밋 기준)")
+    private Long locApiCalls;
+    @Schema(description = "코드 줄 수 수집 예상 API 요청 수 (표본 추정 기준)")
+    private Long sampledLocApiCalls;
+    @Schema(description = "예상 소요 시간(초)")
+    private Long estimatedSec;
+    @Schema(description = "남은 API 사용량 (알 수 없으면 null)")
+    private Integer rateLimitRemaining;
+    @Schema(description = "API 사용량 초기화 시각 (알 수 없으면 null)")
+    private LocalDateTime rateLimitResetAt;
+    private Decision decision;
+    private String message;
+    private LocalDateTime estimatedAt;
+}
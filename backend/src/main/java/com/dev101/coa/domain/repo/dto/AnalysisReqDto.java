@@ -3,10 +3,18 @@ package com.dev101.coa.domain.repo.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Getter;
 
+import java.time.LocalDate;
+
 @Getter
 public class AnalysisReqDto {
     private String repoUrl;
     @Schema(description = "레포 구성원의 아이디", example = "ha09368")
     private String userName;
     private Integer projectId;
+    @Schema(description = "분석할 커밋 시작 날짜 (없으면 레포 시작 날짜)", example = "2024-04-08")
+    private LocalDate since;
+    @Schema(description = "분석할 커밋 끝 날짜 (없으면 레포 마지막 날짜)", example = "2024-05-17")
+    private LocalDate until;
+    @Schema(description = "분석할 최대 커밋 수 (없거나 서버 최대값보다 크면 서버 최대값)", example = "1000")
+    private Integer maxCommits;
 }
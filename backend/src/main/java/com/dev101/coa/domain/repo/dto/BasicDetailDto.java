@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -19,4 +20,12 @@ public class BasicDetailDto {
     private Integer repoViewMemberCnt;
     @Schema(description = "언어 별 코드 줄 수")
     private List<CodeCntDto> repoLineCntList;
+    @Schema(description = "분석한 커밋 범위 시작 날짜")
+    private LocalDate analysisSince;
+    @Schema(description = "분석한 커밋 범위 끝 날짜")
+    private LocalDate analysisUntil;
+    @Schema(description = "분석한 최대 커밋 수 (null 이면 제한 없음)")
+    private Integer maxCommits;
+    @Schema(description = "분석 기간 안의 커밋이 최대 커밋 수보다 많아서 최신 커밋부터 maxCommits 개만 분석했으면 true (커밋 수를 모르면 null)")
+    private Boolean windowTruncated;
 }
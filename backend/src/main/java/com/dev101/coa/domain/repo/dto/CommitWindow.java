@@ -0,0 +1,39 @@
+package com.dev101.coa.domain.repo.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 분석, 코드 줄 수 수집에서 볼 커밋 범위
+ * - since ~ until (날짜 포함, UTC) 사이의 커밋 중 최신 커밋부터 maxCommits 개까지 (maxCommits 가 null 이면 제한 없음)
+ * - GitHub, GitLab 커밋 목록 API 의 since / until 파라미터 이름과 형식(ISO 8601)이 같다.
+ */
+public record CommitWindow(LocalDate since, LocalDate until, Integer maxCommits) {
+
+    /**
+     * 최대 커밋 수는 요청 값과 설정 값(configuredCap, 0 이하면 설정 안 함) 중 작은 값, 둘 다 없으면 제한 없음
+     */
+    public static CommitWindow of(LocalDate since, LocalDate until, Integer requestedMaxCommits, int configuredCap) {
+        Integer maxCommits = requestedMaxCommits;
+        if (configuredCap > 0) {
+            maxCommits = maxCommits == null ? configuredCap : Math.min(maxCommits, configuredCap);
+        }
+        return new CommitWindow(since, until, maxCommits);
+    }
+
+    // 셀 커밋 수의 상한 (제한이 없으면 Long.MAX_VALUE)
+    public long limit() {
+        return maxCommits == null ? Long.MAX_VALUE : maxCommits;
+    }
+
+    // 커밋 목록 url 뒤에 붙일 파라미터 (없는 값은 생략)
+    public String toQueryParams() {
+        StringBuilder sb = new StringBuilder();
+        if (since != null) {
+            sb.append("&since=").append(since).append("T00:00:00Z");
+        }
+        if (until != null) {
+            sb.append("&until=").append(until).append("T23:59:59Z");
+        }
+        return sb.toString();
+    }
+}
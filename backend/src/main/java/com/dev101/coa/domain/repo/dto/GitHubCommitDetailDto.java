@@ -0,0 +1,17 @@
+package com.dev101.coa.domain.repo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * GitHub 커밋 상세(/repos/{owner}/{repo}/commits/{sha})
+ * - 파일별 추가 줄 수만 필요하므로 patch 본문은 읽지 않고 건너뛴다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GitHubCommitDetailDto(List<File> files) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record File(String filename, Integer additions) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.dev101.coa.domain.repo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * GitHub 커밋 목록(/repos/{owner}/{repo}/commits)의 한 항목 - 사용하는 필드만 읽고 나머지(author, committer, commit ...)는 건너뛴다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GitHubCommitDto(String sha) {
+}
@@ -0,0 +1,16 @@
+package com.dev101.coa.domain.repo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * GitLab 커밋 목록(/projects/{id}/repository/commits)의 한 항목
+ * - stats 는 with_stats=true 로 요청했을 때만 온다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GitLabCommitDto(String id, @JsonProperty("author_email") String authorEmail, Stats stats) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Stats(int additions, int deletions, int total) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.dev101.coa.domain.repo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * GitLab 커밋 diff(/projects/{id}/repository/commits/{sha}/diff)의 파일 하나
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GitLabDiffDto(@JsonProperty("new_path") String newPath, String diff) {
+}
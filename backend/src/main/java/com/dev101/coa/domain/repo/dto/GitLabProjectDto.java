@@ -0,0 +1,10 @@
+package com.dev101.coa.domain.repo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * GitLab 프로젝트 목록(/users/{user}/contributed_projects)의 한 항목
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GitLabProjectDto(Long id, String name) {
+}
@@ -0,0 +1,24 @@
+package com.dev101.coa.domain.repo.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 코드 줄 수를 세는 동안 보여줄 언어별 미리보기 (레포 전체 언어 통계 기준, 정확한 값이 나오면 LineOfCode 로 대체)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LanguagePreviewDto {
+    private String codeName;
+    @Schema(description = "레포 전체에서 이 언어가 차지하는 비율(%)")
+    private Double ratio;
+    @Schema(description = "본인 커밋 비율로 나눈 예상 코드 줄 수 (GitLab 은 크기를 알 수 없어서 null)")
+    private Integer lineCnt;
+    @Schema(description = "임시 값 여부 (항상 true)")
+    private Boolean provisional;
+}
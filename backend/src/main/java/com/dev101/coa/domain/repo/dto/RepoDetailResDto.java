@@ -9,4 +9,6 @@ public class RepoDetailResDto {
     private RepoCardDto repoCardDto;
     private BasicDetailDto basicDetailDto;
     private CommitScoreDto commitScoreDto;
+    // 분석 전 비용 추정 (완료된 분석 결과에만)
+    private AnalysisEstimateDto analysisEstimateDto;
 }
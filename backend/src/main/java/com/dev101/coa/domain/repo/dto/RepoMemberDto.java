@@ -0,0 +1,10 @@
+package com.dev101.coa.domain.repo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 레포 참여자(GitHub contributors, GitLab members) 수를 셀 때 쓰는 항목
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RepoMemberDto(Long id) {
+}
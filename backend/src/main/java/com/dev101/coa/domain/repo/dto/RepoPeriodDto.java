@@ -0,0 +1,30 @@
+package com.dev101.coa.domain.repo.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * 레포 기간 계산과 분석 비용 추정에 쓰는 레포 정보
+ * - 기간: GitHub created_at ~ pushed_at, GitLab created_at ~ updated_at
+ * - 크기: GitHub size(KB), GitLab statistics.repository_size(byte, statistics=true 로 요청하고 권한이 있을 때만)
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RepoPeriodDto(
+        @JsonProperty("created_at") String createdAt,
+        @JsonProperty("pushed_at") String pushedAt,
+        @JsonProperty("updated_at") String updatedAt,
+        Long size,
+        Statistics statistics) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Statistics(@JsonProperty("repository_size") Long repositorySize) {
+    }
+
+    // 레포 크기(KB), 알 수 없으면 null
+    public Long sizeKb() {
+        if (size != null) {
+            return size;
+        }
+        return statistics != null && statistics.repositorySize() != null ? statistics.repositorySize() / 1024 : null;
+    }
+}
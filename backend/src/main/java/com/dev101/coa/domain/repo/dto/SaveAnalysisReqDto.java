@@ -13,4 +13,6 @@ public class SaveAnalysisReqDto {
     private LocalDate repoEndDate;
     private Integer repoViewMemberCnt;
     private List<Long> repoViewSkillList;
+    // true 이면 커밋이 많아도 표본 추정 없이 모든 커밋의 코드 줄 수를 센다.
+    private Boolean exactLineCount;
 }
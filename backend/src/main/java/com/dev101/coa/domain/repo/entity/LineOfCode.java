@@ -30,5 +30,12 @@ public class LineOfCode extends BaseEntity {
     @Column(name = "loc_line_cnt")
     private Integer lineCount;
 
+    // 표본 커밋으로 추정한 값인지, 추정값의 95% 신뢰구간 반폭 (정확히 센 값이면 false, 0)
+    @Column(name = "loc_approximate")
+    private Boolean approximate;
+
+    @Column(name = "loc_margin")
+    private Integer margin;
+
     // Constructor, Getter, Setter, etc.
 }
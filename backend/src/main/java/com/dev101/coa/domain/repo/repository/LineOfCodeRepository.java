@@ -10,4 +10,6 @@ import java.util.List;
 @Repository
 public interface LineOfCodeRepository extends JpaRepository<LineOfCode, Long> {
     List<LineOfCode> findAllByRepoView(RepoView repoView);
+
+    void deleteAllByRepoView(RepoView repoView);
 }
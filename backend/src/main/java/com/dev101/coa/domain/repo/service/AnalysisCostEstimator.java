@@ -0,0 +1,196 @@
+package com.dev101.coa.domain.repo.service;
+
+import com.dev101.coa.domain.repo.dto.AnalysisEstimateDto;
+import com.dev101.coa.domain.repo.dto.CommitWindow;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 분석 시작 전 비용 추정
+ * - 커밋 수: 커밋 목록을 per_page=1 로 요청해서 페이지 헤더(GitHub Link rel="last", GitLab X-Total)로 읽는다. (요청 1번)
+ * - 레포 크기: 레포 정보(RepoPeriodDto)의 크기로 파일 수를 어림한다.
+ * - 남은 API 사용량: 같은 응답의 rate limit 헤더 (GitHub X-RateLimit-*, GitLab RateLimit-*)
+ * - 위 값으로 API 요청 수, 소요 시간을 예상하고 실행(RUN), 표본 추정(SAMPLE), 대기(QUEUE), 거절(REJECT)을 정한다.
+ * - 추정에 실패해도 분석을 막지 않는다. (RUN, 값은 null)
+ */
+@Slf4j
+@Component
+public class AnalysisCostEstimator {
+
+    private static final Pattern LAST_PAGE = Pattern.compile("[?&]page=(\\d+)[^>]*>;\\s*rel=\"last\"");
+
+    // AI 서버가 한 번에 가져오는 본인 커밋 수 (커밋 목록 첫 페이지)
+    private static final int AI_COMMIT_PAGE_SIZE = 30;
+    private static final int LOC_PAGE_SIZE = 100;
+
+    private final WebClient webClient;
+    private final LocSamplingPolicy locSamplingPolicy;
+    private final DistributionSummary locApiCallRatio;
+
+    // 레포 크기 → 파일 수 어림 값 (파일 하나의 평균 크기)
+    private final long avgFileKb;
+
+    // API 요청 하나의 평균 소요 시간
+    private final long msPerCall;
+
+    // 표본 추정으로도 이 요청 수를 넘으면 거절
+    private final long rejectApiCalls;
+
+    // 사용량이 이 시간 안에 초기화되면 대기, 아니면 거절
+    private final long queueMaxWaitMin;
+
+    private final int locConcurrency;
+
+    public AnalysisCostEstimator(WebClient webClient, LocSamplingPolicy locSamplingPolicy, MeterRegistry meterRegistry,
+                                 @Value("${analysis.estimate.avg-file-kb:8}") long avgFileKb,
+                                 @Value("${analysis.estimate.ms-per-call:150}") long msPerCall,
+                                 @Value("${analysis.estimate.reject-api-calls:30000}") long rejectApiCalls,
+                                 @Value("${analysis.estimate.queue-max-wait-min:60}") long queueMaxWaitMin,
+                                 @Value("${analysis.loc.concurrency:4}") int locConcurrency) {
+        this.webClient = webClient;
+        this.locSamplingPolicy = locSamplingPolicy;
+        this.avgFileKb = avgFileKb;
+        this.msPerCall = msPerCall;
+        this.rejectApiCalls = rejectApiCalls;
+        this.queueMaxWaitMin = queueMaxWaitMin;
+        this.locConcurrency = locConcurrency;
+        this.locApiCallRatio = DistributionSummary.builder("analysis.cost.loc-api-calls.ratio")
+                .description("코드 줄 수 수집 실제 API 요청 수 / 예상 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param commitsUrl 커밋 목록 url (GitHub /repos/{o}/{r}/commits, GitLab /projects/{id}/repository/commits)
+     */
+    public AnalysisEstimateDto estimate(boolean isGitLab, String commitsUrl, String accessToken, CommitWindow window, Long repoSizeKb) {
+        ResponseEntity<String> response = webClient.get()
+                .uri(commitsUrl + "?per_page=1" + window.toQueryParams())
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .toEntity(String.class)
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        if (response == null) {
+            return AnalysisEstimateDto.builder()
+                    .repoSizeKb(repoSizeKb)
+                    .decision(AnalysisEstimateDto.Decision.RUN)
+                    .message("비용을 추정하지 못했습니다.")
+                    .estimatedAt(LocalDateTime.now())
+                    .build();
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        long commitCnt = readCommitCnt(isGitLab, headers, response.getBody());
+        Integer remaining = readInt(headers, isGitLab ? "RateLimit-Remaining" : "X-RateLimit-Remaining");
+        Integer resetEpochSec = readInt(headers, isGitLab ? "RateLimit-Reset" : "X-RateLimit-Reset");
+        LocalDateTime resetAt = resetEpochSec == null ? null : LocalDateTime.ofInstant(Instant.ofEpochSecond(resetEpochSec), ZoneId.systemDefault());
+
+        long targetCommitCnt = Math.min(commitCnt, window.limit());
+        long pageCalls = (targetCommitCnt + LOC_PAGE_SIZE - 1) / LOC_PAGE_SIZE + 1;
+        long fileCnt = repoSizeKb == null ? 0 : repoSizeKb / Math.max(1, avgFileKb);
+        // 파일 트리 + 파일 내용 + 본인 커밋 목록 + 커밋 diff
+        long aiApiCalls = 2 + fileCnt + Math.min(targetCommitCnt, AI_COMMIT_PAGE_SIZE);
+        // .gitattributes + 커밋 목록 페이지 + 커밋 파일
+        long locApiCalls = 1 + pageCalls + targetCommitCnt;
+        long sampledLocApiCalls = 1 + pageCalls + Math.min(targetCommitCnt, (pageCalls - 1) * locSamplingPolicy.getPerStratum());
+
+        boolean sampling = locSamplingPolicy.shouldSample(window, commitCnt)
+                || (remaining != null && aiApiCalls + locApiCalls > remaining);
+        long plannedLocCalls = sampling ? sampledLocApiCalls : locApiCalls;
+        long estimatedSec = (aiApiCalls * msPerCall + plannedLocCalls * msPerCall / Math.max(1, locConcurrency)) / 1000;
+
+        AnalysisEstimateDto.Decision decision;
+        String message;
+        if (aiApiCalls + sampledLocApiCalls > rejectApiCalls) {
+            decision = AnalysisEstimateDto.Decision.REJECT;
+            message = "커밋이나 파일이 너무 많습니다. 분석 기간이나 최대 커밋 수를 줄여주세요.";
+        } else if (remaining != null && aiApiCalls + sampledLocApiCalls > remaining) {
+            boolean resetSoon = resetAt != null && resetAt.isBefore(LocalDateTime.now().plusMinutes(queueMaxWaitMin));
+            decision = resetSoon ? AnalysisEstimateDto.Decision.QUEUE : AnalysisEstimateDto.Decision.REJECT;
+            message = resetSoon
+                    ? "남은 API 사용량이 부족합니다. " + resetAt + " 이후에 다시 요청해주세요."
+                    : "남은 API 사용량이 부족합니다. 분석 기간이나 최대 커밋 수를 줄여주세요.";
+        } else if (sampling) {
+            decision = AnalysisEstimateDto.Decision.SAMPLE;
+            message = "커밋이 많아 코드 줄 수는 표본으로 추정합니다.";
+        } else {
+            decision = AnalysisEstimateDto.Decision.RUN;
+            message = null;
+        }
+
+        return AnalysisEstimateDto.builder()
+                .commitCnt(commitCnt)
+                .targetCommitCnt(targetCommitCnt)
+                .repoSizeKb(repoSizeKb)
+                .aiApiCalls(aiApiCalls)
+                .locApiCalls(locApiCalls)
+                .sampledLocApiCalls(sampledLocApiCalls)
+                .estimatedSec(estimatedSec)
+                .rateLimitRemaining(remaining)
+                .rateLimitResetAt(resetAt)
+                .decision(decision)
+                .message(message)
+                .estimatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // 저장할 때 실제 코드 줄 수 수집 API 요청 수와 비교 (추정 정확도 확인용)
+    public void recordActual(String analysisId, AnalysisEstimateDto estimate, boolean sampled, int actualLocApiCalls) {
+        if (estimate == null || estimate.getLocApiCalls() == null) {
+            return;
+        }
+        long estimated = sampled ? estimate.getSampledLocApiCalls() : estimate.getLocApiCalls();
+        if (estimated > 0) {
+            locApiCallRatio.record((double) actualLocApiCalls / estimated);
+        }
+        log.info("analysis cost: analysisId={}, decision={}, sampled={}, estimatedLocApiCalls={}, actualLocApiCalls={}",
+                analysisId, estimate.getDecision(), sampled, estimated, actualLocApiCalls);
+    }
+
+    // per_page=1 이라 마지막 페이지 번호 = 커밋 수 (GitLab 은 X-Total, 1만 개가 넘으면 생략되므로 Link 로)
+    private long readCommitCnt(boolean isGitLab, HttpHeaders headers, String body) {
+        if (isGitLab) {
+            Integer total = readInt(headers, "X-Total");
+            if (total != null) {
+                return total;
+            }
+        }
+        String link = headers.getFirst(HttpHeaders.LINK);
+        if (link != null) {
+            Matcher matcher = LAST_PAGE.matcher(link);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        // 페이지가 하나뿐이면 Link 가 없다. (커밋 0개 또는 1개)
+        return body != null && body.trim().length() > 2 ? 1 : 0;
+    }
+
+    private Integer readInt(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
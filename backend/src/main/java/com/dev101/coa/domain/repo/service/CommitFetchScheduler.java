@@ -0,0 +1,410 @@
+package com.dev101.coa.domain.repo.service;
+
+import com.dev101.coa.global.common.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 노드 전체의 코드 줄 수 수집 요청(커밋 목록 페이지, 커밋 파일) 스케줄러
+ * - 저장 중인 모든 작업의 요청을 작업별 큐에 넣고, workers 개의 슬롯(worker)이 나눠서 실행한다. → 노드 전체 동시 요청 수가 workers 개로 고정
+ * - 같은 호스트(api.github.com, lab.ssafy.com)로는 perHost 개, 같은 토큰으로는 perToken 개까지만 동시에 보낸다.
+ *   (제한에 걸린 요청은 큐에 남기고 같은 큐의 다음 요청이나 다른 작업의 요청을 먼저 실행)
+ * - worker 는 맡은 작업의 큐부터 꺼내고, 비어 있으면 큐가 가장 긴 작업에서 가져와(steal) 그 작업을 맡는다.
+ *   새 작업이 등록되면 가장 많은 worker 가 몰린 작업의 worker 하나를 새 작업에 붙여서 작은 작업이 밀리지 않게 한다.
+ * - 요청은 WebClient Mono 라서 worker 는 스레드가 아니라 동시 실행 슬롯이다. (응답은 netty 스레드에서 처리)
+ * - 요청은 submit 을 구독한 쪽의 Reactor Context 로 실행한다. (요청 마감 시각 전달, 큐에서 기다리다 마감 시각이 지난 요청은 보내지 않음)
+ * - 등록(register)된 작업의 요청만 받는다. unregister 하면 그 작업의 남은 요청은 실패로 끝낸다.
+ * - 지표: 큐 길이, 실행 중인 요청 수, 작업 수, steal 횟수, 큐 대기 시간, 작업별 처리량 (actuator /commitfetch 에서 작업별로 확인)
+ */
+@Slf4j
+@Component
+@Endpoint(id = "commitfetch")
+public class CommitFetchScheduler {
+
+    private final int perHost;
+    private final int perToken;
+
+    // 아래 상태는 모두 lock 으로 보호
+    private final Object lock = new Object();
+    private final Worker[] workers;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private final Map<String, Integer> hostInFlight = new HashMap<>();
+    private final Map<String, Integer> tokenInFlight = new HashMap<>();
+
+    // dispatch 를 동시에 / 재귀로 부르면 늘리고, 실행 중인 스레드가 0 이 될 때까지 다시 돈다.
+    private final AtomicInteger dispatchWip = new AtomicInteger();
+
+    private final Counter steals;
+    private final Timer queueWait;
+
+    public CommitFetchScheduler(MeterRegistry meterRegistry,
+                                @Value("${analysis.loc.scheduler.workers:16}") int workerCnt,
+                                @Value("${analysis.loc.scheduler.per-host:12}") int perHost,
+                                @Value("${analysis.loc.scheduler.per-token:4}") int perToken) {
+        this.perHost = perHost;
+        this.perToken = perToken;
+        this.workers = new Worker[Math.max(1, workerCnt)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker();
+        }
+
+        Gauge.builder("analysis.loc.fetch.queue.depth", this, CommitFetchScheduler::queueDepth)
+                .description("코드 줄 수 수집 대기 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("analysis.loc.fetch.in-flight", this, CommitFetchScheduler::inFlight)
+                .description("코드 줄 수 수집 실행 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("analysis.loc.fetch.jobs", this, CommitFetchScheduler::jobCnt)
+                .description("코드 줄 수 수집 중인 작업 수")
+                .register(meterRegistry);
+        this.steals = Counter.builder("analysis.loc.fetch.steals")
+                .description("다른 작업의 큐에서 가져온 요청 수")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("analysis.loc.fetch.queue.wait")
+                .description("요청이 큐에서 기다린 시간")
+                .register(meterRegistry);
+    }
+
+    // 작업 시작 (끝나면 unregister)
+    public void register(String jobId) {
+        synchronized (lock) {
+            if (jobs.containsKey(jobId)) {
+                return;
+            }
+            jobs.put(jobId, new Job(jobId));
+            Worker worker = mostSharedWorker();
+            if (worker != null) {
+                worker.jobId = jobId;
+            }
+        }
+    }
+
+    public void unregister(String jobId) {
+        Job job;
+        List<Task<?>> orphaned = new ArrayList<>();
+        synchronized (lock) {
+            job = jobs.remove(jobId);
+            if (job != null) {
+                orphaned.addAll(job.queue);
+                job.queue.clear();
+            }
+            for (Worker worker : workers) {
+                if (jobId.equals(worker.jobId)) {
+                    worker.jobId = null;
+                }
+            }
+        }
+        orphaned.forEach(task -> task.sink.error(notRegistered(jobId)));
+        if (job != null) {
+            log.info("commit fetch job done: jobId={}, tasks={}, throughput={}/s", jobId, job.completed, String.format("%.2f", job.throughput()));
+        }
+        dispatch();
+    }
+
+    /**
+     * 요청을 작업의 큐에 넣고 worker 가 실행하면 결과를 돌려준다.
+     * - 구독을 취소하면 큐에서 빼거나 실행 중인 요청을 취소한다.
+     * - 등록되지 않은(이미 끝난) 작업이면 IllegalStateException 으로 끝난다.
+     */
+    public <T> Mono<T> submit(String jobId, String host, String accessToken, Supplier<Mono<T>> fetch) {
+        return Mono.create(sink -> {
+            Task<T> task = new Task<>(jobId, host, tokenKey(accessToken), fetch, sink);
+            sink.onCancel(() -> cancel(task));
+            boolean queued;
+            synchronized (lock) {
+                Job job = jobs.get(jobId);
+                queued = job != null;
+                if (queued) {
+                    job.queue.addLast(task);
+                }
+            }
+            if (!queued) {
+                sink.error(notRegistered(jobId));
+                return;
+            }
+            dispatch();
+        });
+    }
+
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        synchronized (lock) {
+            List<Map<String, Object>> jobStats = new ArrayList<>();
+            for (Job job : jobs.values()) {
+                jobStats.add(Map.of(
+                        "jobId", job.id,
+                        "queued", job.queue.size(),
+                        "running", job.running,
+                        "completed", job.completed,
+                        "workers", workersOn(job.id),
+                        "throughputPerSec", job.throughput()));
+            }
+            return Map.of(
+                    "workers", workers.length,
+                    "queueDepth", queueDepth(),
+                    "inFlight", inFlight(),
+                    "hostInFlight", new HashMap<>(hostInFlight),
+                    "jobs", jobStats);
+        }
+    }
+
+    /**
+     * 쉬는 worker 마다 실행할 요청을 골라서 실행 (구독은 lock 밖에서)
+     * - 요청이 구독 중에 바로 끝나면(회로 열림, 마감 시각 지남) release 에서 다시 dispatch 를 부른다.
+     *   재귀로 들어가지 않도록 이미 돌고 있는 스레드가 있으면 횟수만 남기고, 그 스레드가 남은 횟수만큼 다시 돈다. (drain loop)
+     */
+    private void dispatch() {
+        if (dispatchWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            List<Runnable> starts = new ArrayList<>();
+            synchronized (lock) {
+                for (Worker worker : workers) {
+                    if (worker.task != null) {
+                        continue;
+                    }
+                    Task<?> task = nextTask(worker);
+                    if (task == null) {
+                        break;
+                    }
+                    worker.task = task;
+                    hostInFlight.merge(task.host, 1, Integer::sum);
+                    tokenInFlight.merge(task.tokenKey, 1, Integer::sum);
+                    Job job = jobs.get(task.jobId);
+                    if (job != null) {
+                        job.running++;
+                    }
+                    starts.add(() -> run(worker, task));
+                }
+            }
+            for (Runnable start : starts) {
+                try {
+                    start.run();
+                } catch (RuntimeException e) {
+                    // 여기서 빠져나가면 dispatchWip 가 남아서 더 이상 실행하지 못한다.
+                    log.warn("commit fetch dispatch failed", e);
+                }
+            }
+            missed = dispatchWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    // 맡은 작업의 큐 → 큐가 가장 긴 작업의 큐 (실행할 수 있는 요청이 있는 것만)
+    private Task<?> nextTask(Worker worker) {
+        Job own = worker.jobId == null ? null : jobs.get(worker.jobId);
+        Task<?> task = own == null ? null : pollRunnable(own);
+        if (task != null) {
+            return task;
+        }
+
+        Job busiest = null;
+        for (Job job : jobs.values()) {
+            if (job != own && hasRunnable(job) && (busiest == null || job.queue.size() > busiest.queue.size())) {
+                busiest = job;
+            }
+        }
+        if (busiest == null) {
+            return null;
+        }
+        if (worker.jobId != null) {
+            steals.increment();
+        }
+        worker.jobId = busiest.id;
+        return pollRunnable(busiest);
+    }
+
+    private boolean hasRunnable(Job job) {
+        for (Task<?> task : job.queue) {
+            if (canRun(task)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Task<?> pollRunnable(Job job) {
+        Iterator<Task<?>> iterator = job.queue.iterator();
+        while (iterator.hasNext()) {
+            Task<?> task = iterator.next();
+            if (canRun(task)) {
+                iterator.remove();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private boolean canRun(Task<?> task) {
+        return hostInFlight.getOrDefault(task.host, 0) < perHost
+                && tokenInFlight.getOrDefault(task.tokenKey, 0) < perToken;
+    }
+
+    // 구독 결과(Disposable)는 구독 전에 만들어 둔 task.running 에 넣는다. (구독 중에 취소돼도 구독이 끝나면 바로 dispose)
+    private <T> void run(Worker worker, Task<T> task) {
+        queueWait.record(Duration.ofNanos(System.nanoTime() - task.enqueuedAt));
+        if (task.running.isDisposed()) {
+            // 큐에서 꺼낸 뒤 실행 전에 취소됨
+            release(worker, task);
+            return;
+        }
+        Mono<T> fetch;
+        try {
+            RequestDeadline.from(task.sink.contextView()).ifPresent(RequestDeadline::throwIfExpired);
+            fetch = task.fetch.get();
+        } catch (RuntimeException e) {
+            release(worker, task);
+            task.sink.error(e);
+            return;
+        }
+        task.running.update(fetch
+                .contextWrite(task.sink.contextView())
+                .doFinally(signal -> release(worker, task))
+                .subscribe(task.sink::success, task.sink::error, () -> task.sink.success()));
+    }
+
+    private void release(Worker worker, Task<?> task) {
+        synchronized (lock) {
+            if (worker.task != task) {
+                return;
+            }
+            worker.task = null;
+            hostInFlight.computeIfPresent(task.host, (key, count) -> count > 1 ? count - 1 : null);
+            tokenInFlight.computeIfPresent(task.tokenKey, (key, count) -> count > 1 ? count - 1 : null);
+            Job job = jobs.get(task.jobId);
+            if (job != null) {
+                job.running--;
+                job.completed++;
+            }
+        }
+        dispatch();
+    }
+
+    private void cancel(Task<?> task) {
+        synchronized (lock) {
+            Job job = jobs.get(task.jobId);
+            if (job != null && job.queue.remove(task)) {
+                return;
+            }
+        }
+        // 실행 중이면 요청 취소, 아직 구독 전이면 구독하자마자 취소된다.
+        task.running.dispose();
+    }
+
+    private static IllegalStateException notRegistered(String jobId) {
+        return new IllegalStateException("commit fetch job is not registered: " + jobId);
+    }
+
+    // 맡은 worker 가 가장 많은 작업의 worker (맡은 작업이 없는 worker 가 있으면 그 worker)
+    private Worker mostSharedWorker() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Worker worker : workers) {
+            if (worker.jobId == null) {
+                return worker;
+            }
+            counts.merge(worker.jobId, 1, Integer::sum);
+        }
+        Worker picked = null;
+        int max = 1;
+        for (Worker worker : workers) {
+            int count = counts.get(worker.jobId);
+            if (count > max) {
+                picked = worker;
+                max = count;
+            }
+        }
+        return picked;
+    }
+
+    private int workersOn(String jobId) {
+        int count = 0;
+        for (Worker worker : workers) {
+            if (jobId.equals(worker.jobId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int queueDepth() {
+        synchronized (lock) {
+            return jobs.values().stream().mapToInt(job -> job.queue.size()).sum();
+        }
+    }
+
+    private int inFlight() {
+        synchronized (lock) {
+            return hostInFlight.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    private int jobCnt() {
+        synchronized (lock) {
+            return jobs.size();
+        }
+    }
+
+    // 토큰 원문은 들고 있지 않는다. (토큰별 동시 요청 수만 셈)
+    private static String tokenKey(String accessToken) {
+        return accessToken == null ? "" : Integer.toHexString(accessToken.hashCode());
+    }
+
+    private static final class Worker {
+        // 맡은 작업, 실행 중인 요청
+        private String jobId;
+        private Task<?> task;
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Deque<Task<?>> queue = new ArrayDeque<>();
+        private final long startedAt = System.nanoTime();
+        private int running;
+        private long completed;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        double throughput() {
+            double elapsedSec = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+            return elapsedSec <= 0 ? 0 : completed / elapsedSec;
+        }
+    }
+
+    private static final class Task<T> {
+        private final String jobId;
+        private final String host;
+        private final String tokenKey;
+        private final Supplier<Mono<T>> fetch;
+        private final MonoSink<T> sink;
+        private final long enqueuedAt = System.nanoTime();
+        // 실행 중인 요청의 구독 (실행 전에도 있어서 취소를 먼저 기록해 둘 수 있다)
+        private final Disposable.Swap running = Disposables.swap();
+
+        Task(String jobId, String host, String tokenKey, Supplier<Mono<T>> fetch, MonoSink<T> sink) {
+            this.jobId = jobId;
+            this.host = host;
+            this.tokenKey = tokenKey;
+            this.fetch = fetch;
+            this.sink = sink;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.dev101.coa.domain.repo.service;
 
+import com.dev101.coa.domain.repo.dto.GitLabProjectDto;
+import com.dev101.coa.global.common.RequestDeadline;
 import com.dev101.coa.global.common.StatusCode;
 import com.dev101.coa.global.exception.BaseException;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -34,7 +36,7 @@ public class ExternalApiService {
 
 
 
-    public String fetchGithubReposSync(String userID, String accessToken) throws BaseException {
+    public Mono<String> fetchGithubRepos(String userID, String accessToken) {
         return webClient.get()
                 .uri("https://api.github.com/users/{userID}/repos", userID)
                 .headers(headers -> headers.setBearerAuth(accessToken))
@@ -43,12 +45,11 @@ public class ExternalApiService {
                 .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.error(new BaseException(StatusCode.NOT_FOUND)))
                 .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub repos fetching")))
                 .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitHub repos fetching")))
-                .bodyToMono(String.class)
-                .block();
+                .bodyToMono(String.class);
 
     }
 
-    public String fetchGitlabRepos(String userID, String accessToken) {
+    public Mono<String> fetchGitlabRepos(String userID, String accessToken) {
         return webClient.get()
                 .uri("https://lab.ssafy.com/api/v4/users/{userID}/contributed_projects", userID)
                 .headers(headers -> headers.setBearerAuth(accessToken))
@@ -57,14 +58,13 @@ public class ExternalApiService {
                 .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.error(new BaseException(StatusCode.NOT_FOUND)))
                 .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub repos fetching")))
                 .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitHub repos fetching")))
-                .bodyToMono(String.class)
-                .block();
+                .bodyToMono(String.class);
 
     }
 
 
 
-    public String fetchGitHubMembers(String userName, String projectName, String accessToken) {
+    public Mono<String> fetchGitHubMembers(String userName, String projectName, String accessToken) {
         return webClient.get()
                 .uri("https://api.github.com/repos/{userName}/{projectName}/contributors", userName, projectName)
                 .headers(headers -> headers.setBearerAuth(accessToken))
@@ -73,73 +73,57 @@ public class ExternalApiService {
                 .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.error(new BaseException(StatusCode.NOT_FOUND)))
                 .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub repos fetching")))
                 .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitHub repos fetching")))
-                .bodyToMono(String.class)
-                .block();
+                .bodyToMono(String.class);
 
     }
 
 
-    public List<Map<String, Object>> fetchGitlabProjects(String userName, String accessToken) {
-        System.out.println("userName = " + userName);
-        List<Map<String, Object>> allProjects = new ArrayList<>();
-        int page = 1;
-
-        while (true) {
-            System.out.println("page = " + page);
-
-            List<Map<String, Object>> projects = fetchProjectsByPage(userName, accessToken, page);
-//            System.out.println("projects = " + projects);
-            if (projects == null || projects.isEmpty()) {
-                break;
-            }
-            allProjects.addAll(projects);
-            page++;
-        }
-
-        return allProjects;
+    // 빈 페이지가 나올 때까지 다음 페이지를 요청 (구독을 취소하면 거기서 멈춤)
+    public Flux<GitLabProjectDto> fetchGitlabProjects(String userName, String accessToken) {
+        return fetchProjectsByPage(userName, accessToken, 1)
+                .expand(page -> page.projects().isEmpty()
+                        ? Mono.empty()
+                        : fetchProjectsByPage(userName, accessToken, page.page() + 1))
+                .takeWhile(page -> !page.projects().isEmpty())
+                .concatMapIterable(ProjectPage::projects);
     }
 
-    private List<Map<String, Object>> fetchProjectsByPage(String userName, String accessToken, int page) {
-        try {
-            return webClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .scheme("https")
-                            .host("lab.ssafy.com")
-                            .path("/api/v4/users/{userName}/contributed_projects")
-                            .queryParam("page", page)
-                            .queryParam("per_page", 100) // Adjust per_page value if necessary
-                            .build(userName))
-                    .headers(headers -> headers.setBearerAuth(accessToken))
-                    .retrieve()
-                    .onStatus(status -> status.equals(HttpStatus.UNAUTHORIZED), response -> Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR)))
-                    .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.error(new BaseException(StatusCode.NOT_FOUND)))
-                    .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitLab repos fetching")))
-                    .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitLab repos fetching")))
-                    .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                    .block();
-        } catch (WebClientResponseException ex) {
-            // Handle exception as needed
-            ex.printStackTrace();
-            return null;
-        }
+    // 프로젝트 id, 이름만 읽는다.
+    private Mono<ProjectPage> fetchProjectsByPage(String userName, String accessToken, int page) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .scheme("https")
+                        .host("lab.ssafy.com")
+                        .path("/api/v4/users/{userName}/contributed_projects")
+                        .queryParam("page", page)
+                        .queryParam("per_page", 100) // Adjust per_page value if necessary
+                        .build(userName))
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .onStatus(status -> status.equals(HttpStatus.UNAUTHORIZED), response -> Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR)))
+                .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.error(new BaseException(StatusCode.NOT_FOUND)))
+                .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitLab repos fetching")))
+                .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitLab repos fetching")))
+                .bodyToFlux(GitLabProjectDto.class)
+                .collectList()
+                .map(projects -> new ProjectPage(page, projects))
+                // 응답 자체를 읽지 못하면 목록의 끝으로 본다.
+                .onErrorResume(WebClientResponseException.class, e -> Mono.just(new ProjectPage(page, List.of())));
     }
 
+    private record ProjectPage(int page, List<GitLabProjectDto> projects) {
+    }
 
-    public String handleGitlabProject(String userName, String accessToken, String projectNameToCheck) {
-        List<Map<String, Object>> projects = fetchGitlabProjects(userName, accessToken);
-
-        for (Map<String, Object> project : projects) {
-//            System.out.println("project = " + project);
-            String projectName = (String) project.get("name");
-            if (projectNameToCheck.equals(projectName)) {
-                return String.valueOf(project.get("id"));
-            }
-        }
-
-        throw new BaseException(StatusCode.PROJECT_NOT_FOUND);
+    // 이름이 같은 프로젝트를 찾으면 남은 페이지는 요청하지 않는다.
+    public Mono<String> handleGitlabProject(String userName, String accessToken, String projectNameToCheck) {
+        return fetchGitlabProjects(userName, accessToken)
+                .filter(project -> projectNameToCheck.equals(project.name()))
+                .next()
+                .map(project -> String.valueOf(project.id()))
+                .switchIfEmpty(Mono.error(new BaseException(StatusCode.PROJECT_NOT_FOUND)));
     }
 
-    public List<Map<String, Object>> fetchGitlabMembers(String projectId, String accessToken) {
+    public Mono<List<Map<String, Object>>> fetchGitlabMembers(String projectId, String accessToken) {
         return webClient.get()
                 .uri("https://lab.ssafy.com/api/v4/projects/{projectId}/members?per_page=100", projectId)
                 .headers(headers -> headers.setBearerAuth(accessToken))
@@ -149,8 +133,7 @@ public class ExternalApiService {
 //TODO 잘못된 유저 정보 ( 유저닉네임 업데이트 됐을 때 )                .onStatus(status -> status.equals(HttpStatus.NOT_FOUND), response -> Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR)))
                 .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub repos fetching")))
                 .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitHub repos fetching")))
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                .block();
+                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {});
     }
 
     public Mono<Map<String, Object>> fetchGithubIssue(String userId, String accessToken) {
@@ -272,7 +255,8 @@ public class ExternalApiService {
     }
 
 
-    public Mono<List<Map<String, Object>>> fetchGitHubContributions(String username, String accessToken) {
+    // 레포별 코드 줄 수 - 요청에 마감 시각이 있으면 그때까지 센 레포만 (partial)
+    public Mono<RequestDeadline.Collected<Map<String, Object>>> fetchGitHubContributions(String username, String accessToken) {
         return fetchRepositories(username, accessToken)
                 .flatMapMany(Flux::fromIterable)
                 .flatMap(repo -> {
@@ -287,7 +271,7 @@ public class ExternalApiService {
                             .collectList()
                             .map(files -> calculateLinesOfCode(repo, files));
                 })
-                .collectList();
+                .as(RequestDeadline::collectUntilDeadline);
     }
 
     private Mono<List<Map<String, Object>>> fetchRepositories(String username, String accessToken) {
@@ -0,0 +1,690 @@
+package com.dev101.coa.domain.repo.service;
+
+import com.dev101.coa.domain.code.entity.Code;
+import com.dev101.coa.domain.code.service.CodeRegistry;
+import com.dev101.coa.domain.member.entity.Member;
+import com.dev101.coa.domain.member.service.PlatformCredentialResolver;
+import com.dev101.coa.domain.redis.AnalysisCancellation;
+import com.dev101.coa.domain.redis.LocCheckpoint;
+import com.dev101.coa.domain.redis.LocCheckpointRepository;
+import com.dev101.coa.domain.repo.dto.CommitWindow;
+import com.dev101.coa.domain.repo.dto.GitHubCommitDetailDto;
+import com.dev101.coa.domain.repo.dto.GitHubCommitDto;
+import com.dev101.coa.domain.repo.dto.GitLabCommitDto;
+import com.dev101.coa.domain.repo.dto.GitLabDiffDto;
+import com.dev101.coa.domain.repo.dto.LanguagePreviewDto;
+import com.dev101.coa.domain.repo.dto.RepoInfo;
+import com.dev101.coa.domain.repo.entity.LineOfCode;
+import com.dev101.coa.domain.repo.entity.RepoView;
+import com.dev101.coa.domain.repo.repository.LineOfCodeRepository;
+import com.dev101.coa.global.common.RequestDeadline;
+import com.dev101.coa.global.common.StatusCode;
+import com.dev101.coa.global.exception.BaseException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 레포 뷰의 언어별 코드 줄 수 수집
+ * - 커밋 목록 페이지가 도착하는 대로 커밋 파일 요청, 집계로 흘려보낸다. (전체 커밋 목록을 메모리에 모으지 않음)
+ * - 다음 페이지는 앞 페이지의 커밋이 소비될 때 요청하고(backpressure), 커밋 파일 요청은 locConcurrency 개까지 동시에 보낸다.
+ *   → 메모리 사용량은 레포 크기가 아니라 페이지 크기와 동시 요청 수로 정해진다.
+ * - 진행 상태는 체크포인트(loc:{analysisId})로 저장해서 다시 저장하면 이어서 수집한다.
+ * - 분석할 때 정한 커밋 범위(CommitWindow)의 커밋만, 최신 커밋부터 maxCommits 개까지 센다. (maxCommits 가 없으면 전부)
+ * - 응답은 필요한 필드만 가진 dto 로 읽는다. (배열은 항목 단위로 디코딩, GitHub patch 는 건너뜀, GitLab diff 는 받자마자 줄 수로 바꿈)
+ * - 의존성, 빌드 결과물, lock 파일 등은 경로만 보고 집계에서 뺀다. (LocPathClassifier, diff 를 훑지 않음)
+ * - 변경 줄 수가 hugeCommitLines 를 넘는 GitLab 커밋은 diff 를 받지 않고 커밋 목록의 stats 로만 센다.
+ *   언어를 알 수 없어서 bulkLines 로 따로 모았다가 저장할 때 줄 수가 가장 많은 언어에 더한다.
+ *   표본 모드에서도 표본에 넣지 않고 전부 센다. (API 요청이 없어서 표본으로 뽑을 이유가 없고, 빈 표본으로 넣으면 추정값이 작아짐)
+ * - 커밋이 많으면 표본 추정 모드로 센다. (LocSamplingPolicy)
+ *   커밋 목록은 모두 받되, 페이지(시간 순으로 이어진 커밋 묶음)를 층으로 보고 층마다 perStratum 개만 파일을 요청해서
+ *   층화 추정량으로 언어별 줄 수와 95% 신뢰구간을 구한다. 결과는 LineOfCode 에 추정값(approximate)으로 저장한다.
+ * - 커밋 목록 페이지, 커밋 파일 요청은 노드 전체가 같이 쓰는 CommitFetchScheduler 로 보낸다. (호스트, 토큰별 동시 요청 수 제한)
+ * - 요청에 마감 시각이 있으면 지난 뒤로는 새 요청을 보내지 않고 체크포인트를 남긴 채 DEADLINE_EXCEEDED 로 멈춘다. (다시 저장하면 이어서 수집)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LineOfCodeService {
+
+    private static final int PER_PAGE = 100;
+
+    // 95% 신뢰구간 z 값
+    private static final double Z_95 = 1.96;
+
+    // 언어 미리보기에서 바이트 수를 줄 수로 바꿀 때 쓰는 한 줄의 평균 바이트 수 (대략값)
+    private static final int BYTES_PER_LINE = 40;
+
+    // GitHub 언어 이름 → 코드 이름 (나머지는 이름이 같음)
+    private static final Map<String, String> LINGUIST_TO_CODE_NAME = Map.of("Vue", "Vue.js");
+
+    // 코드 줄 수 수집 체크포인트 저장 주기 (처리한 커밋 수)
+    @Value("${analysis.loc.checkpoint-interval:20}")
+    private int locCheckpointInterval;
+
+    // 동시에 보내는 커밋 파일 요청 수
+    @Value("${analysis.loc.concurrency:4}")
+    private int locConcurrency;
+
+    // 이 줄 수(추가 + 삭제)를 넘는 커밋은 diff 를 받지 않는다.
+    @Value("${analysis.loc.huge-commit-lines:5000}")
+    private int hugeCommitLines;
+
+    private final CodeRegistry codeRegistry;
+    private final LineOfCodeRepository lineOfCodeRepository;
+    private final LocCheckpointRepository locCheckpointRepository;
+    private final AnalysisCancellation analysisCancellation;
+    private final WebClient webClient;
+    private final PlatformCredentialResolver platformCredentialResolver;
+    private final ExternalApiService externalApiService;
+    private final LocPathClassifier locPathClassifier;
+    private final CommitFetchScheduler commitFetchScheduler;
+    private final LocSamplingPolicy locSamplingPolicy;
+
+    // 표본 추정으로 셀지 (LocSamplingPolicy)
+    public boolean shouldSample(CommitWindow window, long commitCnt) {
+        return locSamplingPolicy.shouldSample(window, commitCnt);
+    }
+
+    /**
+     * 레포 전체 언어 통계(요청 한 번)로 만든 언어별 미리보기
+     * - GitHub 은 언어별 바이트 수를 본인 커밋 비율(personalCommitCnt / totalCommitCnt)로 나눠 예상 줄 수를 구한다.
+     * - GitLab 은 언어별 비율(%)만 주기 때문에 비율만 채운다.
+     * - 미리보기라서 실패해도 저장을 막지 않는다. (빈 목록)
+     */
+    public List<LanguagePreviewDto> previewLanguages(RepoInfo repoInfo, Member member, Long personalCommitCnt, Long totalCommitCnt) throws Exception {
+        boolean isGitLab = repoInfo.getRepoGitLabProjectId() != null;
+        String accessToken = resolveAccessToken(member, isGitLab);
+        String url = isGitLab
+                ? String.format("https://lab.ssafy.com/api/v4/projects/%s/languages", repoInfo.getRepoGitLabProjectId())
+                : "https://api.github.com/repos/" + repoPathOf(repoInfo) + "/languages";
+
+        Map<String, Double> languages = webClient.get()
+                .uri(url)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Double>>() {
+                })
+                .timeout(Duration.ofSeconds(5))
+                .onErrorResume(e -> Mono.empty())
+                .blockOptional()
+                .orElse(Map.of());
+
+        double sum = languages.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (sum <= 0) {
+            return List.of();
+        }
+        double commitShare = personalCommitCnt == null || totalCommitCnt == null || totalCommitCnt == 0
+                ? 1.0
+                : Math.min(1.0, (double) personalCommitCnt / totalCommitCnt);
+
+        List<LanguagePreviewDto> preview = new ArrayList<>();
+        languages.forEach((language, value) -> preview.add(LanguagePreviewDto.builder()
+                .codeName(LINGUIST_TO_CODE_NAME.getOrDefault(language, language))
+                .ratio(value * 100 / sum)
+                .lineCnt(isGitLab ? null : (int) Math.round(value / BYTES_PER_LINE * commitShare))
+                .provisional(true)
+                .build()));
+        preview.sort(Comparator.comparing(LanguagePreviewDto::getRatio).reversed());
+        return preview;
+    }
+
+    // 코드 줄 수를 저장하고 실제로 보낸 API 요청 수를 돌려준다. (비용 추정과 비교)
+    public int processLinesOfCode(String analysisId, RepoView repoView, RepoInfo repoInfo, Member member, CommitWindow window, boolean sampling) throws Exception {
+        String userName = null;
+        String repoName = null;
+        boolean isGitLab = repoInfo.getRepoGitLabProjectId() != null;
+        String accessToken = resolveAccessToken(member, isGitLab);
+
+        if (!isGitLab) {
+            String[] split = repoInfo.getRepoPath().split("/");
+            repoName = split[split.length - 1];
+            userName = split[split.length - 2];
+        }
+
+        // GitLab 은 본인 커밋(연동 계정 이메일)만 센다. (토큰과 같은 캐시 항목)
+        String gitLabEmail = isGitLab ? platformCredentialResolver.resolve(member.getMemberId(), 1003L).email() : null;
+        LocCounts locCounts = calculateLinesOfCode(analysisId, gitLabEmail, window, sampling, repoInfo.getRepoGitLabProjectId(), repoName, userName, accessToken, isGitLab);
+
+        // 저장할 수 있는 언어(코드가 있는 언어)만
+        Map<String, Code> codes = new HashMap<>();
+        Map<String, Integer> lines = new HashMap<>();
+        locCounts.lines().forEach((codeName, lineCount) -> {
+            Optional<Code> code = codeName == null ? Optional.empty() : codeRegistry.findByCodeName(codeName);
+            if (code.isPresent()) {
+                codes.put(codeName, code.get());
+                lines.put(codeName, lineCount);
+            }
+        });
+        // 큰 커밋(bulkLines)은 언어를 모르므로 줄 수가 가장 많은 언어에 더한다.
+        if (locCounts.bulkLines() > 0) {
+            Optional<String> dominant = lines.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey);
+            if (dominant.isPresent()) {
+                lines.merge(dominant.get(), (int) locCounts.bulkLines(), Integer::sum);
+            } else {
+                log.warn("bulk commit lines not saved, no language counted: analysisId={}, bulkLines={}", analysisId, locCounts.bulkLines());
+            }
+        }
+
+        lines.forEach((codeName, lineCount) -> lineOfCodeRepository.save(LineOfCode.builder()
+                .repoView(repoView)
+                .skillCode(codes.get(codeName))
+                .lineCount(lineCount)
+                .approximate(locCounts.approximate())
+                .margin(locCounts.margins().getOrDefault(codeName, 0))
+                .build()));
+        return locCounts.apiCallCnt();
+    }
+
+    private String resolveAccessToken(Member member, boolean isGitLab) throws Exception {
+        return platformCredentialResolver.resolve(member.getMemberId(), isGitLab ? 1003L : 1002L).accessToken();
+    }
+
+    // "https://github.com/{owner}/{repo}" → "{owner}/{repo}"
+    private String repoPathOf(RepoInfo repoInfo) {
+        String[] split = repoInfo.getRepoPath().split("/");
+        return split[split.length - 2] + "/" + split[split.length - 1];
+    }
+
+    /**
+     * 커밋 목록 페이지 → 커밋 파일 요청 → 집계 파이프라인
+     * - 체크포인트의 페이지부터 시작하고, 그 페이지에서는 마지막으로 처리한 커밋 다음부터 처리한다.
+     * - locCheckpointInterval 개의 커밋마다, 그리고 페이지가 끝날 때마다 체크포인트를 저장한다.
+     * - 페이지 크기가 고정이라 (page - 1) * PER_PAGE 로 커밋 순번을 알 수 있어서, maxCommits 를 넘는 페이지는 요청하지 않는다.
+     * - 표본 모드에서는 층 집계가 페이지 단위라 페이지가 끝날 때만 체크포인트를 저장한다. (이어서 수집하면 페이지 처음부터)
+     * - 체크포인트의 모드(표본 / 전체)가 요청과 다르면 처음부터 다시 센다.
+     */
+    private LocCounts calculateLinesOfCode(String analysisId, String gitLabEmail, CommitWindow window, boolean sampling, Integer projectId,
+                                           String repoName, String username, String accessToken, boolean isGitLab) {
+        LocCheckpoint checkpoint = locCheckpointRepository.findById(analysisId)
+                .filter(saved -> saved.isSampled() == sampling)
+                .orElseGet(() -> LocCheckpoint.start(sampling));
+        if (checkpoint.isComplete()) {
+            return new LocProgress(checkpoint).toCounts();
+        }
+
+        LocPathClassifier.PathRules pathRules = locPathClassifier.forRepo(
+                fetchGitAttributes(isGitLab, projectId, repoName, username, checkpoint.getHeadSha(), accessToken));
+        LocProgress progress = new LocProgress(checkpoint);
+        progress.apiCallCnt++;
+
+        commitFetchScheduler.register(analysisId);
+        try {
+            crawl(analysisId, window, checkpoint, pathRules, progress, isGitLab, gitLabEmail, projectId, repoName, username, accessToken);
+        } finally {
+            commitFetchScheduler.unregister(analysisId);
+        }
+
+        // 저장이 끝나기 전에 실패해도 다시 수집하지 않도록 완료 표시 (저장이 끝나면 삭제)
+        locCheckpointRepository.save(analysisId, progress.toCheckpoint(true));
+
+        return progress.toCounts();
+    }
+
+    private void crawl(String analysisId, CommitWindow window, LocCheckpoint checkpoint, LocPathClassifier.PathRules pathRules, LocProgress progress,
+                       boolean isGitLab, String gitLabEmail, Integer projectId, String repoName, String username, String accessToken) {
+        Optional<Instant> deadline = RequestDeadline.current();
+        fetchCommitPage(analysisId, isGitLab, projectId, repoName, username, window, checkpoint.getHeadSha(), checkpoint.getPage(), accessToken)
+                .expand(page -> page.commits().isEmpty() || (long) page.page() * PER_PAGE >= window.limit()
+                        ? Mono.empty()
+                        : fetchCommitPage(analysisId, isGitLab, projectId, repoName, username, window, page.headSha(), page.page() + 1, accessToken))
+                .takeWhile(page -> !page.commits().isEmpty())
+                // 페이지는 하나씩 순서대로 처리 (앞 페이지를 소비해야 다음 페이지를 요청), 페이지의 파일 요청 전에 취소 확인
+                .concatMap(page -> unlessCancelled(analysisId)
+                        .thenMany(Flux.defer(() -> commitFiles(analysisId, page, checkpoint, window, pathRules, isGitLab, gitLabEmail, projectId, repoName, username, accessToken))), 1)
+                // 집계와 체크포인트 저장(redis)은 순서대로, 요청 스레드가 아닌 곳에서
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .doOnNext(item -> {
+                    if (deadline.isPresent() && RequestDeadline.isExpired(deadline.get())) {
+                        // 여기까지 처리한 커밋으로 체크포인트 (표본 모드는 마지막으로 끝난 페이지의 체크포인트부터 이어서)
+                        if (!progress.sampled) {
+                            locCheckpointRepository.save(analysisId, progress.toCheckpoint(false));
+                        }
+                        throw new BaseException(StatusCode.DEADLINE_EXCEEDED);
+                    }
+                    progress.add(item);
+                    if (item.pageEnd() || (item.counted() && !item.bulk())) {
+                        progress.apiCallCnt++;
+                    }
+                    // 큰 커밋은 progress.add 에서 bulkLines 로만 센다. (표본에도 넣지 않음)
+                    if (item.counted() && !item.bulk()) {
+                        if (progress.sampled) {
+                            Map<String, Integer> commitLines = new HashMap<>();
+                            countLines(commitLines, item.files());
+                            progress.addSample(commitLines);
+                        } else {
+                            countLines(progress.totals, item.files());
+                        }
+                    }
+                    if (item.pageEnd() && progress.sampled) {
+                        progress.closeStratum(item.stratumSize());
+                    }
+                    if (item.pageEnd() || (!progress.sampled && progress.sinceCheckpoint >= locCheckpointInterval)) {
+                        locCheckpointRepository.save(analysisId, progress.toCheckpoint(false));
+                        progress.sinceCheckpoint = 0;
+                    }
+                })
+                .then()
+                // 스케줄러, 외부 요청 필터가 요청 스레드의 마감 시각을 알도록
+                .contextWrite(RequestDeadline.context())
+                .block();
+    }
+
+    /**
+     * 한 페이지의 커밋들을 순서를 유지하면서 locConcurrency 개씩 동시에 파일 요청하고, 마지막에 페이지 끝 표시를 보낸다.
+     * - 표본 모드에서는 센 대상 커밋(층) 중 perStratum 개만 요청한다. 이어서 수집해도 같은 표본이 뽑히도록 페이지마다 시드를 고정한다.
+     */
+    private Flux<LocItem> commitFiles(String analysisId, CommitPage page, LocCheckpoint checkpoint, CommitWindow window, LocPathClassifier.PathRules pathRules,
+                                      boolean isGitLab, String gitLabEmail, Integer projectId, String repoName, String username, String accessToken) {
+        List<CommitRef> commits = page.commits();
+        int start = 0;
+        if (!checkpoint.isSampled() && page.page() == checkpoint.getPage() && checkpoint.getLastSha() != null) {
+            start = indexOfSha(commits, checkpoint.getLastSha()) + 1;
+        }
+        // maxCommits 번째 커밋까지만
+        int end = (int) Math.min(commits.size(), Math.max(0L, window.limit() - (long) (page.page() - 1) * PER_PAGE));
+        List<CommitRef> targets = commits.subList(Math.min(start, end), end);
+
+        // 센 대상 커밋 (GitLab 은 본인 커밋만, 전부 세는 큰 커밋 제외) = 층의 크기
+        List<CommitRef> eligible = targets.stream()
+                .filter(commit -> !isGitLab || Objects.equals(commit.authorEmail(), gitLabEmail))
+                .filter(commit -> commit.total() <= hugeCommitLines)
+                .toList();
+        Set<String> sampledShas = checkpoint.isSampled() ? pickSample(analysisId, page, eligible) : null;
+
+        Flux<LocItem> items = Flux.fromIterable(targets)
+                .flatMapSequential(commit -> {
+                    if (isGitLab && !Objects.equals(commit.authorEmail(), gitLabEmail)) {
+                        return Mono.just(LocItem.skipped(page, commit.sha()));
+                    }
+                    if (commit.total() > hugeCommitLines) {
+                        return Mono.just(LocItem.bulk(page, commit.sha(), commit.additions()));
+                    }
+                    if (sampledShas != null && !sampledShas.contains(commit.sha())) {
+                        return Mono.just(LocItem.skipped(page, commit.sha()));
+                    }
+                    Flux<FileStat> files = isGitLab
+                            ? fetchGitLabCommitFiles(commit.sha(), projectId, pathRules, accessToken)
+                            : fetchGitHubCommitFiles(repoName, commit.sha(), username, pathRules, accessToken);
+                    return commitFetchScheduler.submit(analysisId, hostOf(isGitLab), accessToken, files::collectList)
+                            .map(fileList -> LocItem.counted(page, commit.sha(), fileList));
+                }, locConcurrency, 1);
+
+        return Flux.concat(items, Mono.just(LocItem.pageEnd(page, eligible.size())));
+    }
+
+    private Set<String> pickSample(String analysisId, CommitPage page, List<CommitRef> eligible) {
+        List<CommitRef> shuffled = new ArrayList<>(eligible);
+        Collections.shuffle(shuffled, new Random(Objects.hash(analysisId, page.headSha(), page.page())));
+
+        Set<String> shas = new HashSet<>();
+        for (CommitRef commit : shuffled.subList(0, Math.min(locSamplingPolicy.getPerStratum(), shuffled.size()))) {
+            shas.add(commit.sha());
+        }
+        return shas;
+    }
+
+    private int indexOfSha(List<CommitRef> commits, String sha) {
+        for (int i = 0; i < commits.size(); i++) {
+            if (commits.get(i).sha().equals(sha)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void countLines(Map<String, Integer> totals, List<FileStat> files) {
+        for (FileStat file : files) {
+            String skillCodeName = externalApiService.getLanguageFromFilePath(file.path());
+            totals.merge(skillCodeName, file.additions(), Integer::sum);
+        }
+    }
+
+    private String hostOf(boolean isGitLab) {
+        return isGitLab ? "lab.ssafy.com" : "api.github.com";
+    }
+
+    // 취소됐으면 ANALYSIS_CANCELLED 에러로 끝나고, 아니면 값 없이 완료 (페이지마다 한 번, 요청을 보내기 전에 확인)
+    private Mono<Void> unlessCancelled(String analysisId) {
+        return analysisCancellation.isCancelled(analysisId)
+                .flatMap(cancelled -> Boolean.TRUE.equals(cancelled)
+                        ? Mono.<Void>error(new BaseException(StatusCode.ANALYSIS_CANCELLED))
+                        : Mono.<Void>empty());
+    }
+
+    private Mono<CommitPage> fetchCommitPage(String analysisId, boolean isGitLab, Integer projectId, String repoName, String username, CommitWindow window,
+                                             String headSha, int page, String accessToken) {
+        Flux<CommitRef> commits = isGitLab
+                ? fetchGitLabCommitPage(projectId, window, headSha, page, accessToken)
+                : fetchGitHubCommitPage(repoName, username, window, headSha, page, accessToken);
+
+        // 취소됐으면 커밋 목록을 요청하지 않는다.
+        return unlessCancelled(analysisId)
+                .then(commitFetchScheduler.submit(analysisId, hostOf(isGitLab), accessToken, commits::collectList))
+                .map(list -> {
+                    // 첫 페이지의 최신 커밋으로 고정
+                    String pinnedSha = headSha != null || list.isEmpty() ? headSha : list.get(0).sha();
+                    return new CommitPage(page, pinnedSha, list);
+                });
+    }
+
+    private Flux<CommitRef> fetchGitHubCommitPage(String repoName, String username, CommitWindow window, String headSha, int page, String accessToken) {
+        // headSha 가 있으면 그 커밋부터 목록을 받아서 수집 중 새 push 가 있어도 페이지가 밀리지 않도록 한다.
+        String url = String.format("https://api.github.com/repos/%s/%s/commits?page=%d&per_page=%d", username, repoName, page, PER_PAGE)
+                + (headSha != null ? "&sha=" + headSha : "")
+                + window.toQueryParams();
+
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response -> {
+                    if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
+                        return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
+                    } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return Mono.error(new BaseException(StatusCode.NOT_FOUND));
+                    } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitHub commits fetching"));
+                    } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitHub commits fetching"));
+                    } else {
+                        return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub commits fetching"));
+                    }
+                })
+                .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitHub 코드 줄 수")))
+                .bodyToFlux(GitHubCommitDto.class)
+                // GitHub 커밋 목록에는 stats 가 없다. (큰 커밋도 상세 응답의 파일별 줄 수로 센다)
+                .map(commit -> new CommitRef(commit.sha(), null, 0, 0))
+                .timeout(Duration.ofSeconds(20));
+    }
+
+    private Flux<CommitRef> fetchGitLabCommitPage(Integer projectId, CommitWindow window, String headSha, int page, String accessToken) {
+        String url = String.format("https://lab.ssafy.com/api/v4/projects/%s/repository/commits?page=%d&per_page=%d&with_stats=true", projectId, page, PER_PAGE)
+                + (headSha != null ? "&ref_name=" + headSha : "")
+                + window.toQueryParams();
+
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response -> {
+                    if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
+                        return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
+                    } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return Mono.error(new BaseException(StatusCode.NOT_FOUND));
+                    } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitLab commits fetching"));
+                    } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitLab commits fetching"));
+                    } else {
+                        return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitLab commits fetching"));
+                    }
+                })
+                .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitLab 코드 줄 수")))
+                .bodyToFlux(GitLabCommitDto.class)
+                .map(commit -> commit.stats() == null
+                        ? new CommitRef(commit.id(), commit.authorEmail(), 0, 0)
+                        : new CommitRef(commit.id(), commit.authorEmail(), commit.stats().additions(), commit.stats().total()))
+                .timeout(Duration.ofSeconds(20));
+    }
+
+    // 레포 최상위의 .gitattributes (없거나 읽지 못하면 null → 기본 규칙만 사용, 마감 시각이 지난 경우만 실패)
+    private String fetchGitAttributes(boolean isGitLab, Integer projectId, String repoName, String username, String headSha, String accessToken) {
+        String ref = headSha != null ? headSha : "HEAD";
+        String url = isGitLab
+                ? String.format("https://lab.ssafy.com/api/v4/projects/%s/repository/files/.gitattributes/raw?ref=%s", projectId, ref)
+                : String.format("https://api.github.com/repos/%s/%s/contents/.gitattributes", username, repoName)
+                        + (headSha != null ? "?ref=" + headSha : "");
+
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .accept(isGitLab ? MediaType.ALL : MediaType.parseMediaType("application/vnd.github.raw+json"))
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofSeconds(10))
+                .onErrorResume(e -> !RequestDeadline.isDeadlineExceeded(e), e -> {
+                    if (!(e instanceof WebClientResponseException.NotFound)) {
+                        log.warn("failed to read .gitattributes, using default rules: url={}", url, e);
+                    }
+                    return Mono.empty();
+                })
+                .contextWrite(RequestDeadline.context())
+                .block();
+    }
+
+    // diff 에서 추가된 줄 수 ('+' 로 시작하고 '+++' 가 아닌 줄), 줄마다 문자열을 만들지 않고 한 번 훑는다.
+    private int countAddedLines(String diffText) {
+        if (diffText == null) {
+            return 0;
+        }
+        int count = 0;
+        int length = diffText.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            if (diffText.charAt(lineStart) == '+' && !diffText.startsWith("+++", lineStart)) {
+                count++;
+            }
+            int lineEnd = diffText.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                break;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return count;
+    }
+
+    private Flux<FileStat> fetchGitHubCommitFiles(String repoName, String commitSha, String username, LocPathClassifier.PathRules pathRules, String accessToken) {
+        String url = String.format("https://api.github.com/repos/%s/%s/commits/%s", username, repoName, commitSha);
+
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response -> {
+                    if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
+                        return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
+                    } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return Mono.error(new BaseException(StatusCode.NOT_FOUND));
+                    } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitHub commit files fetching"));
+                    } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitHub commit files fetching"));
+                    } else {
+                        return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub commit files fetching"));
+                    }
+                })
+                .bodyToMono(GitHubCommitDetailDto.class)
+                .flatMapIterable(detail -> detail.files() == null ? List.of() : detail.files())
+                .filter(file -> pathRules.isCounted(file.filename()))
+                .map(file -> new FileStat(file.filename(), file.additions() == null ? 0 : file.additions()))
+                .timeout(Duration.ofSeconds(10));
+    }
+
+    private Flux<FileStat> fetchGitLabCommitFiles(String commitSha, Integer projectId, LocPathClassifier.PathRules pathRules, String accessToken) {
+        String url = String.format("https://lab.ssafy.com/api/v4/projects/%s/repository/commits/%s/diff", projectId, commitSha);
+
+        return webClient.get()
+                .uri(url)
+                .headers(headers -> headers.setBearerAuth(accessToken))
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response -> {
+                    if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
+                        return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
+                    } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
+                        return Mono.error(new BaseException(StatusCode.NOT_FOUND));
+                    } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitLab commit files fetching"));
+                    } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitLab commit files fetching"));
+                    } else {
+                        return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitLab commit files fetching"));
+                    }
+                })
+                .bodyToFlux(GitLabDiffDto.class)
+                // 제외할 파일은 diff 를 훑기 전에 거른다.
+                .filter(file -> pathRules.isCounted(file.newPath()))
+                .map(file -> new FileStat(file.newPath(), countAddedLines(file.diff())))
+                .timeout(Duration.ofSeconds(10));
+    }
+
+    // 커밋 목록 한 페이지 (headSha: 고정한 최신 커밋)
+    private record CommitPage(int page, String headSha, List<CommitRef> commits) {
+    }
+
+    // 커밋 목록에서 쓰는 값 (authorEmail, additions, total 은 GitLab 만)
+    private record CommitRef(String sha, String authorEmail, int additions, int total) {
+    }
+
+    // 파일 하나의 경로와 추가된 줄 수
+    private record FileStat(String path, int additions) {
+    }
+
+    // 파이프라인에 흐르는 단위: 커밋 하나(파일 목록 또는 stats 로만 센 줄 수, bulk) 또는 페이지 끝 표시(stratumSize: 페이지의 표본 대상 커밋 수)
+    private record LocItem(CommitPage page, String sha, boolean counted, List<FileStat> files, boolean bulk, int bulkLines, boolean pageEnd, int stratumSize) {
+
+        static LocItem counted(CommitPage page, String sha, List<FileStat> files) {
+            return new LocItem(page, sha, true, files, false, 0, false, 0);
+        }
+
+        static LocItem bulk(CommitPage page, String sha, int additions) {
+            return new LocItem(page, sha, true, List.of(), true, additions, false, 0);
+        }
+
+        static LocItem skipped(CommitPage page, String sha) {
+            return new LocItem(page, sha, false, List.of(), false, 0, false, 0);
+        }
+
+        static LocItem pageEnd(CommitPage page, int stratumSize) {
+            return new LocItem(page, null, false, List.of(), false, 0, true, stratumSize);
+        }
+    }
+
+    // 언어별 줄 수와 95% 신뢰구간 반폭 (전체를 센 경우 approximate = false, margins 는 비어 있음), bulkLines: 언어를 모르는 큰 커밋의 줄 수 (정확한 값)
+    private record LocCounts(Map<String, Integer> lines, Map<String, Integer> margins, boolean approximate, long bulkLines, int apiCallCnt) {
+    }
+
+    // 집계 상태 (publishOn 이후 한 스레드에서 순서대로만 접근)
+    private static final class LocProgress {
+        private String headSha;
+        private int page;
+        private String lastSha;
+        private int commitCnt;
+        private long bulkLines;
+        private int sinceCheckpoint;
+        // 보낸 API 요청 수 (.gitattributes + 커밋 목록 페이지 + 커밋 파일)
+        private int apiCallCnt;
+        private final Map<String, Integer> totals;
+
+        // 표본 모드: 언어별 추정 줄 수, 추정 분산, 현재 층의 표본 합과 제곱합
+        private final boolean sampled;
+        private final Map<String, Double> estimates;
+        private final Map<String, Double> variances;
+        private final Map<String, double[]> stratumSums = new HashMap<>();
+        private int stratumSampleCnt;
+
+        LocProgress(LocCheckpoint checkpoint) {
+            this.headSha = checkpoint.getHeadSha();
+            this.page = checkpoint.getPage();
+            this.lastSha = checkpoint.getLastSha();
+            this.commitCnt = checkpoint.getCommitCnt();
+            this.bulkLines = checkpoint.getBulkLines();
+            this.apiCallCnt = checkpoint.getApiCallCnt();
+            this.totals = new HashMap<>(checkpoint.getTotals());
+            this.sampled = checkpoint.isSampled();
+            this.estimates = checkpoint.getEstimates() == null ? new HashMap<>() : new HashMap<>(checkpoint.getEstimates());
+            this.variances = checkpoint.getVariances() == null ? new HashMap<>() : new HashMap<>(checkpoint.getVariances());
+        }
+
+        // 표본 커밋 하나의 언어별 줄 수 (표본에 없는 언어는 0 으로 본다)
+        void addSample(Map<String, Integer> commitLines) {
+            stratumSampleCnt++;
+            commitLines.forEach((language, lines) -> {
+                if (language == null) {
+                    return;
+                }
+                double[] sums = stratumSums.computeIfAbsent(language, key -> new double[2]);
+                sums[0] += lines;
+                sums[1] += (double) lines * lines;
+            });
+        }
+
+        // 층 추정: 합계 N * 평균, 분산 N^2 * (1 - n / N) * s^2 / n (N: 층 크기, n: 표본 수, s^2: 표본 분산)
+        void closeStratum(int stratumSize) {
+            int n = stratumSampleCnt;
+            if (n > 0) {
+                double finiteCorrection = 1.0 - (double) n / stratumSize;
+                stratumSums.forEach((language, sums) -> {
+                    double mean = sums[0] / n;
+                    estimates.merge(language, stratumSize * mean, Double::sum);
+                    if (n > 1 && finiteCorrection > 0) {
+                        double sampleVariance = Math.max(0, (sums[1] - n * mean * mean) / (n - 1));
+                        variances.merge(language, (double) stratumSize * stratumSize * finiteCorrection * sampleVariance / n, Double::sum);
+                    }
+                });
+            }
+            stratumSums.clear();
+            stratumSampleCnt = 0;
+        }
+
+        LocCounts toCounts() {
+            if (!sampled) {
+                return new LocCounts(totals, new HashMap<>(), false, bulkLines, apiCallCnt);
+            }
+            Map<String, Integer> lines = new HashMap<>();
+            Map<String, Integer> margins = new HashMap<>();
+            estimates.forEach((language, estimate) -> {
+                lines.put(language, (int) Math.round(estimate));
+                margins.put(language, (int) Math.ceil(Z_95 * Math.sqrt(variances.getOrDefault(language, 0.0))));
+            });
+            return new LocCounts(lines, margins, true, bulkLines, apiCallCnt);
+        }
+
+        void add(LocItem item) {
+            headSha = item.page().headSha();
+            if (item.pageEnd()) {
+                page = item.page().page() + 1;
+                lastSha = null;
+                return;
+            }
+            page = item.page().page();
+            lastSha = item.sha();
+            if (item.counted()) {
+                commitCnt++;
+                bulkLines += item.bulkLines();
+                sinceCheckpoint++;
+            }
+        }
+
+        LocCheckpoint toCheckpoint(boolean complete) {
+            return LocCheckpoint.builder()
+                    .headSha(headSha)
+                    .page(page)
+                    .lastSha(lastSha)
+                    .commitCnt(commitCnt)
+                    .apiCallCnt(apiCallCnt)
+                    .bulkLines(bulkLines)
+                    .totals(totals)
+                    .sampled(sampled)
+                    .estimates(estimates)
+                    .variances(variances)
+                    .complete(complete)
+                    .build();
+        }
+    }
+}
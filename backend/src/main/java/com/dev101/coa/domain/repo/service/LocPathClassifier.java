@@ -0,0 +1,128 @@
+package com.dev101.coa.domain.repo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 코드 줄 수에서 뺄 파일(의존성, 빌드 결과물, lock 파일, 자동 생성 코드 ...) 판별
+ * - 파일 내용(diff)을 읽기 전에 경로만으로 판단한다.
+ * - 레포의 .gitattributes 에 있는 linguist 속성(linguist-vendored, linguist-generated, linguist-documentation)으로 레포별로 덮어쓸 수 있다.
+ *   (git 과 같이 나중에 나온 규칙이 우선, "-linguist-vendored" 나 "linguist-vendored=false" 는 다시 포함)
+ */
+@Component
+public class LocPathClassifier {
+
+    // '/' 가 없는 패턴은 파일 이름에, 있는 패턴은 전체 경로에 맞춘다. (gitignore 와 같은 방식)
+    private static final List<String> DEFAULT_EXCLUDES = List.of(
+            // 의존성 / 외부 코드
+            "**/node_modules/**", "**/bower_components/**", "**/vendor/**", "**/third_party/**", "**/.yarn/**",
+            // 빌드 결과물
+            "**/dist/**", "**/build/**", "**/out/**", "**/target/**", "**/.next/**", "**/.nuxt/**", "**/.gradle/**",
+            // 자동 생성 코드, 마이그레이션
+            "**/generated/**", "**/__generated__/**", "**/migrations/**",
+            "*.min.js", "*.min.css", "*.map", "*.bundle.js", "*.pb.go", "*_pb2.py", "*.g.dart", "*.generated.*",
+            // lock 파일
+            "package-lock.json", "yarn.lock", "pnpm-lock.yaml", "Gemfile.lock", "Cargo.lock", "poetry.lock",
+            "composer.lock", "go.sum", "Pipfile.lock", "gradle.lockfile"
+    );
+
+    private static final List<String> LINGUIST_EXCLUDE_ATTRIBUTES = List.of("linguist-vendored", "linguist-generated", "linguist-documentation");
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final PathRules defaultRules;
+
+    public LocPathClassifier(@Value("${analysis.loc.exclude-patterns:}") String extraExcludePatterns) {
+        List<Rule> rules = new ArrayList<>();
+        DEFAULT_EXCLUDES.forEach(pattern -> rules.add(Rule.of(pattern, true)));
+        Arrays.stream(extraExcludePatterns.split(","))
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .forEach(pattern -> rules.add(Rule.of(pattern, true)));
+        this.defaultRules = new PathRules(List.copyOf(rules));
+    }
+
+    public PathRules defaultRules() {
+        return defaultRules;
+    }
+
+    // 기본 규칙 + 레포의 .gitattributes (없으면 기본 규칙)
+    public PathRules forRepo(String gitAttributes) {
+        if (gitAttributes == null || gitAttributes.isBlank()) {
+            return defaultRules;
+        }
+
+        List<Rule> rules = new ArrayList<>(defaultRules.rules());
+        for (String line : gitAttributes.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String[] tokens = trimmed.split("\\s+");
+            for (int i = 1; i < tokens.length; i++) {
+                Boolean excluded = linguistExclusion(tokens[i]);
+                if (excluded != null) {
+                    rules.add(Rule.of(toAntPattern(tokens[0]), excluded));
+                }
+            }
+        }
+        return new PathRules(List.copyOf(rules));
+    }
+
+    // linguist-vendored → 제외, -linguist-vendored / linguist-vendored=false → 포함, 그 외 속성은 null
+    private Boolean linguistExclusion(String attribute) {
+        String name = attribute;
+        boolean value = true;
+        if (name.startsWith("-")) {
+            name = name.substring(1);
+            value = false;
+        } else if (name.contains("=")) {
+            value = !name.endsWith("=false");
+            name = name.substring(0, name.indexOf('='));
+        }
+        return LINGUIST_EXCLUDE_ATTRIBUTES.contains(name) ? value : null;
+    }
+
+    // gitattributes 패턴을 AntPathMatcher 패턴으로 (디렉터리 패턴 "dir/" 은 그 아래 전부)
+    private static String toAntPattern(String pattern) {
+        return pattern.endsWith("/") ? pattern + "**" : pattern;
+    }
+
+    private record Rule(String pattern, boolean excluded) {
+
+        // '/' 가 있는 패턴은 레포 최상위 기준 경로로 맞춘다. (비교하는 경로도 '/' 로 시작)
+        static Rule of(String pattern, boolean excluded) {
+            boolean isPathPattern = pattern.contains("/");
+            return new Rule(isPathPattern && !pattern.startsWith("/") ? "/" + pattern : pattern, excluded);
+        }
+
+        boolean matches(String path, String fileName) {
+            return pattern.contains("/") ? MATCHER.match(pattern, path) : MATCHER.match(pattern, fileName);
+        }
+    }
+
+    public record PathRules(List<Rule> rules) {
+
+        public boolean isCounted(String path) {
+            if (path == null) {
+                return false;
+            }
+            // 경로 패턴과 같이 '/' 로 시작하도록 맞춘다. ("/**/dir/**" 는 최상위 dir 에도 맞음)
+            String normalized = path.startsWith("/") ? path : "/" + path;
+            String fileName = normalized.substring(normalized.lastIndexOf('/') + 1);
+
+            boolean excluded = false;
+            for (Rule rule : rules) {
+                if (rule.matches(normalized, fileName)) {
+                    excluded = rule.excluded();
+                }
+            }
+            return !excluded;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.dev101.coa.domain.repo.service;
+
+import com.dev101.coa.domain.repo.dto.CommitWindow;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 코드 줄 수를 표본으로 추정할지 정하는 기준 (LineOfCodeService 수집, AnalysisCostEstimator 추정이 같이 쓴다)
+ * - 커밋 범위에서 실제로 셀 커밋 수가 threshold 를 넘으면 표본 추정
+ * - 층(커밋 목록 페이지)마다 perStratum 개의 커밋만 파일을 요청한다.
+ */
+@Getter
+@Component
+public class LocSamplingPolicy {
+
+    private final long threshold;
+    private final int perStratum;
+
+    public LocSamplingPolicy(@Value("${analysis.loc.sample.threshold:3000}") long threshold,
+                             @Value("${analysis.loc.sample.per-stratum:10}") int perStratum) {
+        this.threshold = threshold;
+        this.perStratum = perStratum;
+    }
+
+    /**
+     * commitCnt 는 범위 안의 전체 커밋 수, 최대 커밋 수(window.limit())를 걸었으면 그 개수까지만 센다.
+     */
+    public boolean shouldSample(CommitWindow window, long commitCnt) {
+        return Math.min(window.limit(), commitCnt) > threshold;
+    }
+}
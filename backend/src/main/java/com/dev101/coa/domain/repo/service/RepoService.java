@@ -4,45 +4,48 @@ import com.dev101.coa.domain.code.dto.CodeCntDto;
 import com.dev101.coa.domain.code.dto.CodeDto;
 import com.dev101.coa.domain.code.entity.Code;
 import com.dev101.coa.domain.code.entity.Type;
-import com.dev101.coa.domain.code.repository.CodeRepository;
-import com.dev101.coa.domain.code.repository.TypeRepository;
+import com.dev101.coa.domain.code.service.CodeRegistry;
 import com.dev101.coa.domain.member.dto.CntBySkillDto;
-import com.dev101.coa.domain.member.entity.AccountLink;
 import com.dev101.coa.domain.member.entity.Alarm;
 import com.dev101.coa.domain.member.entity.Member;
 import com.dev101.coa.domain.member.repository.AccountLinkRepository;
 import com.dev101.coa.domain.member.repository.AlarmRepository;
 import com.dev101.coa.domain.member.repository.MemberRepository;
+import com.dev101.coa.domain.member.service.PlatformCredentialResolver;
+import com.dev101.coa.domain.redis.ActiveAnalysisIndex;
+import com.dev101.coa.domain.redis.AnalysisCancellation;
+import com.dev101.coa.domain.redis.LanguagePreviewRepository;
+import com.dev101.coa.domain.redis.LocCheckpointRepository;
+import com.dev101.coa.domain.redis.ReactiveRedisResultRepository;
 import com.dev101.coa.domain.redis.RedisRepoRepository;
 import com.dev101.coa.domain.redis.RedisResult;
 import com.dev101.coa.domain.repo.dto.*;
 import com.dev101.coa.domain.repo.entity.*;
 import com.dev101.coa.domain.repo.repository.*;
+import com.dev101.coa.global.common.BaseResponse;
 import com.dev101.coa.global.common.StatusCode;
+import com.dev101.coa.global.common.StructuredFanOut;
 import com.dev101.coa.global.exception.BaseException;
-import com.dev101.coa.global.security.service.EncryptionUtils;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -57,27 +60,48 @@ public class RepoService {
     @Value("${url.gitHubApi}")
     private String gitHubApiUrl;
 
+    // 분석 진척도 스트림 확인 주기 / 최대 유지 시간
+    @Value("${analysis.progress-stream.interval-ms:1000}")
+    private long progressStreamIntervalMs;
+
+    @Value("${analysis.progress-stream.max-sec:600}")
+    private long progressStreamMaxSec;
+
+    // 회원당 동시에 진행할 수 있는 분석 수
+    @Value("${analysis.active.max-per-member:3}")
+    private int maxActivePerMember;
+
+    // 설정하면 분석 한 번에 볼 최대 커밋 수 (요청 값이 이보다 크면 이 값), 0 이면 요청 값만 적용 (요청 값도 없으면 제한 없음)
+    @Value("${analysis.window.max-commits:0}")
+    private int maxCommitsLimit;
+
 
     private final RepoRepository repoRepository;
     private final RepoViewRepository repoViewRepository;
     private final CommentRepository commentRepository;
     private final RepoViewSkillRepository repoViewSkillRepository;
-    private final CodeRepository codeRepository;
+    private final CodeRegistry codeRegistry;
     private final AccountLinkRepository accountLinkRepository;
     private final MemberRepository memberRepository;
     private final LineOfCodeRepository lineOfCodeRepository;
     private final CommitScoreRepository commitScoreRepository;
     private final AlarmRepository alarmRepository;
-    private final TypeRepository typeRepository;
 
     private final RedisRepoRepository redisRepoRepository;
+    private final ReactiveRedisResultRepository reactiveRedisResultRepository;
+    private final ActiveAnalysisIndex activeAnalysisIndex;
+    private final AnalysisCancellation analysisCancellation;
+    private final LocCheckpointRepository locCheckpointRepository;
+    private final LanguagePreviewRepository languagePreviewRepository;
 
     // AI server 통신을 위한 WebClient
     private final WebClient webClient;
 
     // 토큰 복호화를 위한 클래스
-    private final EncryptionUtils encryptionUtils;
-    private final ExternalApiService externalApiService;
+    private final PlatformCredentialResolver platformCredentialResolver;
+    private final LineOfCodeService lineOfCodeService;
+    private final AnalysisCostEstimator analysisCostEstimator;
+    private final StructuredFanOut structuredFanOut;
 
 
     @Transactional
@@ -165,7 +189,7 @@ public class RepoService {
         if (!repoCardEditReqDto.getSkillIdList().isEmpty()) {
 
             repoCardEditReqDto.getSkillIdList().forEach((codeId) -> {
-                Code code = codeRepository.findByCodeId(codeId).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+                Code code = codeRegistry.findByCodeId(codeId).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
                 RepoViewSkill repoviewSkill = RepoViewSkill.builder()
                         .repoView(repoView)
                         .skillCode(code)
@@ -233,7 +257,7 @@ public class RepoService {
         List<Long> skillCodeIdList = saveAnalysisReqDto.getRepoViewSkillList();
         List<Code> skillCodeList = new ArrayList<>();
         for (Long id : skillCodeIdList) {
-            Code code = codeRepository.findByCodeId(id).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+            Code code = codeRegistry.findByCodeId(id).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
             skillCodeList.add(code);
         }
         AiResultDto aiResult = redisData.getResult();
@@ -268,7 +292,7 @@ public class RepoService {
 //        Map<Long, Integer> linesOfCodeMap = aiResult.getLinesOfCode();
 //        List<Map.Entry<Long, Integer>> linesOfCodeList = linesOfCodeMap.entrySet().stream().toList();
 //        for (Map.Entry<Long, Integer> entry : linesOfCodeList) {
-//            Code code = codeRepository.findByCodeId(entry.getKey()).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+//            Code code = codeRegistry.findByCodeId(entry.getKey()).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
 //            LineOfCode lineOfCode = LineOfCode.builder()
 //                    .repoView(repoView)
 //                    .skillCode(code)
@@ -278,7 +302,19 @@ public class RepoService {
 //        }
 
         System.out.println("55555555555");
-        processLinesOfCode(repoView, repoInfo, member);
+        // 코드 줄 수를 세는 동안 보여줄 언어 미리보기 (트랜잭션과 별개로 바로 조회 가능)
+        languagePreviewRepository.save(analysisId,
+                lineOfCodeService.previewLanguages(repoInfo, member, aiResult.getPersonalCommitCnt(), aiResult.getTotalCommitCnt()));
+
+        // 커밋이 많으면 표본으로 추정 (exactLineCount 요청 시 전체)
+        CommitWindow commitWindow = toCommitWindow(redisData);
+        Long commitCnt = repoInfo.getRepoGitLabProjectId() != null ? aiResult.getPersonalCommitCnt() : aiResult.getTotalCommitCnt();
+        AnalysisEstimateDto estimate = redisData.getEstimate();
+        boolean estimatedSample = estimate != null && estimate.getDecision() == AnalysisEstimateDto.Decision.SAMPLE;
+        boolean sampling = !Boolean.TRUE.equals(saveAnalysisReqDto.getExactLineCount())
+                && (estimatedSample || lineOfCodeService.shouldSample(commitWindow, commitCnt == null ? 0L : commitCnt));
+        int locApiCallCnt = lineOfCodeService.processLinesOfCode(analysisId, repoView, repoInfo, member, commitWindow, sampling);
+        analysisCostEstimator.recordActual(analysisId, estimate, sampling, locApiCallCnt);
 
         System.out.println("666666666666666666");
         // commitScore 저장
@@ -294,20 +330,67 @@ public class RepoService {
                 .scoreComment(commitScoreDto.getScoreComment())
                 .build());
 
-        // 레디스에 임시 저장된 분석결과 삭제
+        // 레디스에 임시 저장된 분석결과, 코드 줄 수 체크포인트, 언어 미리보기 삭제
         redisRepoRepository.deleteById(analysisId);
+        locCheckpointRepository.deleteById(analysisId);
+        languagePreviewRepository.deleteById(analysisId);
 
         return saveRepoView.getRepoViewId();
 
     }
 
+    /**
+     * 분석 저장 중(코드 줄 수 수집 중) 언어 미리보기
+     * - 저장이 끝나면 미리보기와 분석 결과가 지워지므로, 그 뒤에는 레포 뷰의 코드 줄 수를 조회한다.
+     */
+    public List<LanguagePreviewDto> getLanguagePreview(Long memberId, String analysisId) {
+        RedisResult redisData = redisRepoRepository.findById(analysisId).orElseThrow(() -> new BaseException(StatusCode.ANALYSIS_RESULT_NOT_EXIST));
+        if (!Objects.equals(memberId, redisData.getMemberId())) {
+            throw new BaseException(StatusCode.REPO_REQ_MEMBER_NOT_MATCH);
+        }
+        return languagePreviewRepository.findById(analysisId);
+    }
+
+    /**
+     * 저장된 레포 뷰의 코드 줄 수를 표본 추정 없이 다시 센다.
+     * - 레포 뷰의 기간(repoStartDate ~ repoEndDate) 안의 커밋을 (analysis.window.max-commits 를 설정했으면 그 개수까지)
+     * - 중간에 실패하면 기존 줄 수는 그대로 두고(롤백), 다시 요청하면 체크포인트(loc:recount:{repoViewId})부터 이어서 센다.
+     */
+    @Transactional
+    public void recountLinesOfCode(Long memberId, Long repoViewId) throws Exception {
+        Member member = memberRepository.findByMemberId(memberId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
+        RepoView repoView = repoViewRepository.findByRepoViewId(repoViewId)
+                .orElseThrow(() -> new BaseException(StatusCode.REPO_VIEW_NOT_FOUND));
+        if (!Objects.equals(memberId, repoView.getMember().getMemberId())) {
+            throw new BaseException(StatusCode.MEMBER_NOT_OWN_REPO);
+        }
+
+        Repo repo = repoView.getRepo();
+        RepoInfo repoInfo = RepoInfo.builder()
+                .repoPath(repo.getRepoPath())
+                .repoGitLabProjectId(repo.getRepoGitlabProjectId())
+                .build();
+        // 레포 뷰의 날짜는 서버 시간대 기준이라 그 날짜 전체를 덮는 UTC 날짜로 바꾼다.
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate since = repoView.getRepoStartDate() == null ? null
+                : repoView.getRepoStartDate().atStartOfDay(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+        LocalDate until = repoView.getRepoEndDate() == null ? null
+                : repoView.getRepoEndDate().plusDays(1).atStartOfDay(zone).minusNanos(1).withZoneSameInstant(ZoneOffset.UTC).toLocalDate();
+        CommitWindow commitWindow = CommitWindow.of(since, until, null, maxCommitsLimit);
+
+        String recountId = "recount:" + repoViewId;
+        lineOfCodeRepository.deleteAllByRepoView(repoView);
+        lineOfCodeService.processLinesOfCode(recountId, repoView, repoInfo, member, commitWindow, false);
+        locCheckpointRepository.deleteById(recountId);
+    }
+
     private RepoInfo getRepoInfo(RedisResult redisData) {
         Integer redisProjectId = redisData.getProjectId();
 
         // gitHub
         if (redisProjectId == null) { // ex: https://api.github.com/repos/rlagkdud/Spring-Pay-System
             // 0. repoCodeId
-            Code repoCode = codeRepository.findByCodeId(1002L).orElseThrow(() -> new BaseException(StatusCode.NOT_FOUND_PLAT));
+            Code repoCode = codeRegistry.findByCodeId(1002L).orElseThrow(() -> new BaseException(StatusCode.NOT_FOUND_PLAT));
 
             // 1. repoPath로부터 사용자 이름과 레포이름을 받아오기
             String repoPath = redisData.getRepoPath();
@@ -330,7 +413,7 @@ public class RepoService {
         // gitLab {
         else { // ex; https://lab.ssafy.com/api/v4/projects/565790
             // 0. repoCodeId
-            Code repoCode = codeRepository.findByCodeId(1003L).orElseThrow(() -> new BaseException(StatusCode.NOT_FOUND_PLAT));
+            Code repoCode = codeRegistry.findByCodeId(1003L).orElseThrow(() -> new BaseException(StatusCode.NOT_FOUND_PLAT));
 
             // 1. repoPath
             String repoPath = redisData.getRepoPath(); //https://lab.ssafy.com/s10-final/S10P31E101
@@ -356,18 +439,88 @@ public class RepoService {
         }
     }
 
-    private Map<String, LocalDate> getGetProjectPeriod(JsonObject jsonObject, String startDateKey, String
-            endDateKey) {
-        // 문자열을 LocaDateTime으로 바꾸기 위한 formatter
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_INSTANT;
+    /**
+     * 분석할 커밋 범위
+     * - since / until 이 없으면 레포 기간(생성 ~ 마지막 push 시각)
+     *   커밋 목록 API 에는 UTC 날짜로 보내므로 레포 기간도 UTC 날짜로 바꾼다. (서버 시간대 날짜를 쓰면 시차만큼 앞뒤 커밋이 빠짐)
+     * - 최대 커밋 수는 요청 값이나 maxCommitsLimit 을 설정했을 때만 건다. (CommitWindow.of)
+     */
+    private CommitWindow resolveCommitWindow(AnalysisReqDto analysisReqDto, String repoStartDateStr, String repoEndDateStr) {
+        LocalDate since = analysisReqDto.getSince() != null ? analysisReqDto.getSince() : toUtcDate(repoStartDateStr);
+        LocalDate until = analysisReqDto.getUntil() != null ? analysisReqDto.getUntil() : toUtcDate(repoEndDateStr);
+        if (since != null && until != null && since.isAfter(until)) {
+            throw new BaseException(StatusCode.INVALID_ANALYSIS_WINDOW);
+        }
+
+        Integer requestedMaxCommits = analysisReqDto.getMaxCommits();
+        if (requestedMaxCommits != null && requestedMaxCommits <= 0) {
+            throw new BaseException(StatusCode.INVALID_ANALYSIS_WINDOW);
+        }
+
+        return CommitWindow.of(since, until, requestedMaxCommits, maxCommitsLimit);
+    }
+
+    private LocalDate toUtcDate(String instant) {
+        return instant == null ? null : Instant.parse(instant).atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    // redis 에 저장된 커밋 범위 (범위 없이 시작된 분석은 기간 제한 없이, maxCommitsLimit 을 설정했으면 그 개수까지)
+    private CommitWindow toCommitWindow(RedisResult redisData) {
+        return CommitWindow.of(redisData.getAnalysisSince(), redisData.getAnalysisUntil(), redisData.getMaxCommits(), maxCommitsLimit);
+    }
+
+    // 분석 기간 안의 커밋이 최대 커밋 수보다 많아서 최신 커밋부터 일부만 분석했는지 (커밋 수를 모르면 null)
+    private Boolean isWindowTruncated(RedisResult redisData) {
+        AnalysisEstimateDto estimate = redisData.getEstimate();
+        if (redisData.getMaxCommits() == null) {
+            return false;
+        }
+        if (estimate == null || estimate.getCommitCnt() == null) {
+            return null;
+        }
+        return estimate.getCommitCnt() > redisData.getMaxCommits();
+    }
+
+    /**
+     * 분석을 시작하지 않고 비용만 추정 (startAnalysis 와 같은 값으로 추정한다)
+     */
+    public AnalysisEstimateDto estimateAnalysis(Long memberId, AnalysisReqDto analysisReqDto) throws Exception {
+        Integer projectId = analysisReqDto.getProjectId();
+        boolean isGitLab = projectId != null;
+
+        String accessToken = platformCredentialResolver.resolve(memberId, isGitLab ? 1003L : 1002L).accessToken();
+
+        String[] split = analysisReqDto.getRepoUrl().split("/");
+        String repoApiUrl = isGitLab
+                ? "https://" + split[2] + "/api/v4/projects/" + projectId
+                : gitHubApiUrl + "/repos/" + split[split.length - 2] + "/" + split[split.length - 1];
+
+        RepoPeriodDto repoPeriod = getRepoPeriod(isGitLab ? repoApiUrl + "?statistics=true" : repoApiUrl, accessToken);
+        CommitWindow commitWindow = resolveCommitWindow(analysisReqDto, repoPeriod.createdAt(), isGitLab ? repoPeriod.updatedAt() : repoPeriod.pushedAt());
+
+        return analysisCostEstimator.estimate(isGitLab, repoApiUrl + (isGitLab ? "/repository/commits" : "/commits"),
+                accessToken, commitWindow, repoPeriod.sizeKb());
+    }
+
+    // 추정 결과가 거절 / 대기면 분석을 시작하지 않는다. (실패 응답의 result 로 추정 결과(결정, 안내 메시지, 사용량 초기화 시각)를 내려준다)
+    private void checkEstimate(AnalysisEstimateDto estimate) {
+        if (estimate.getDecision() == AnalysisEstimateDto.Decision.REJECT) {
+            throw new BaseException(StatusCode.ANALYSIS_TOO_EXPENSIVE, estimate.getMessage(), estimate);
+        }
+        if (estimate.getDecision() == AnalysisEstimateDto.Decision.QUEUE) {
+            throw new BaseException(StatusCode.ANALYSIS_RATE_LIMITED, estimate.getMessage(), estimate);
+        }
+    }
+
+    private Map<String, LocalDate> getGetProjectPeriod(String repoStartDateStr, String repoEndDateStr) {
+        if (repoStartDateStr == null || repoEndDateStr == null) throw new BaseException(StatusCode.DATA_NOT_EXIST);
+
         // 4-1. repoStartDate
-        String repoStartDateStr = jsonObject.get(startDateKey).getAsString();
         Instant startInstant = Instant.parse(repoStartDateStr);
         LocalDate repoStartDate = startInstant.atZone(ZoneId.systemDefault()).toLocalDate();
 
 
         // 4-2. repoEndDate
-        String repoEndDateStr = jsonObject.get(endDateKey).getAsString();
         Instant endInstant = Instant.parse(repoEndDateStr);
         LocalDate repoEndDate = endInstant.atZone(ZoneId.systemDefault()).toLocalDate();
 
@@ -378,9 +531,9 @@ public class RepoService {
         return map;
     }
 
-    private JsonObject getJsonObject(String url, String accessToken) {
-//        try {
-        String jsonStrResponse = webClient.get()
+    // 레포 기간 계산에 필요한 날짜 필드만 읽는다.
+    private RepoPeriodDto getRepoPeriod(String url, String accessToken) {
+        RepoPeriodDto repoPeriod = webClient.get()
                 .uri(url)
                 .header("Authorization", "Bearer " + accessToken)  // Authorization 헤더 추가
                 .accept(MediaType.APPLICATION_JSON)
@@ -399,43 +552,29 @@ public class RepoService {
                             return Mono.error(new ResponseStatusException(response.statusCode(), "Server error. Please retry: 외부 api 요청 시 서버 에러 발생"));
                         })
                 )
-                .bodyToMono(String.class)  // 응답 본문을 String의 Mono로 변환
+                .bodyToMono(RepoPeriodDto.class)
                 .block();  // Mono를 블로킹하여 실제 값 가져오기
 
-        if (jsonStrResponse == null) throw new BaseException(StatusCode.DATA_NOT_EXIST);
+        if (repoPeriod == null) throw new BaseException(StatusCode.DATA_NOT_EXIST);
 
-        // 문자열 -> json object
-        return JsonParser.parseString(jsonStrResponse).getAsJsonObject();
-//        } catch (Exception e) {
-//            System.out.println("e = " + e);
-//            throw new BaseException(StatusCode.RETRY_AI_ANALYSIS);
-//        }
+        return repoPeriod;
     }
 
     private Integer getRepoMemberCnt(String url, String accessToken) {
-        // 4-3. contributors
-        String jsonStrResponse = webClient.get()
+        // 4-3. contributors - 배열 항목을 하나씩 디코딩해서 개수만 센다.
+        Long repoMemberCnt = webClient.get()
                 .uri(url)
                 .header("Authorization", "Bearer " + accessToken)  // Authorization 헤더 추가
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()  // 응답을 검색
-                .bodyToMono(String.class)  // 응답 본문을 String의 Mono로 변환
+                .bodyToFlux(RepoMemberDto.class)
+                .count()
+                .onErrorMap(e -> !(e instanceof BaseException), e -> new BaseException(StatusCode.CANNOT_GET_CONTRIBUTOR))
                 .block();  // Mono를 블로킹하여 실제 값 가져오기
 
-        if (jsonStrResponse == null) throw new BaseException(StatusCode.DATA_NOT_EXIST);
-
-        // 문자열 -> json object
-        JsonElement jsonElement = JsonParser.parseString(jsonStrResponse);
+        if (repoMemberCnt == null) throw new BaseException(StatusCode.DATA_NOT_EXIST);
 
-        // contributor cnt
-        Integer repoMemberCnt = 0;
-        if (jsonElement.isJsonArray()) {
-            JsonArray jsonArray = jsonElement.getAsJsonArray();
-            repoMemberCnt = jsonArray.size();
-        } else {
-            throw new BaseException(StatusCode.CANNOT_GET_CONTRIBUTOR);
-        }
-        return repoMemberCnt;
+        return repoMemberCnt.intValue();
     }
 
 
@@ -452,6 +591,11 @@ public class RepoService {
         // 로그인한 member 받아오기
         Member member = memberRepository.findByMemberId(memberId).orElseThrow(() -> new BaseException(StatusCode.MEMBER_NOT_EXIST));
 
+        // 진행 중인 분석 수 제한 (외부 요청 전에 미리 거르는 용도, 실제 제한은 아래 저장에서 원자적으로)
+        if (getActiveAnalyses(memberId).size() >= maxActivePerMember) {
+            throw new BaseException(StatusCode.TOO_MANY_ACTIVE_ANALYSIS);
+        }
+
         Integer projectId = analysisReqDto.getProjectId();
 
         // isOwn 값 처리하기 : 로그인한 사용자의 본인 레포를 분석하는지 여부
@@ -463,34 +607,40 @@ public class RepoService {
         // redis에 저장할 수 있는 값 저장하기
         // key: analysisId, fields:repoPath, useranme, memaberId, isOwn, percent 0, repoStartDate, repoEndDate
         Map<String, LocalDate> projectPeriod;
+        CommitWindow commitWindow;
+        AnalysisEstimateDto estimate;
         Integer repoMemberCnt;
 
         // ai 서버 요청 디티오
         AiGithubAnalysisReqDto githubAnalysisReqDto = null;
         AiGitlabAnalysisReqDto gitlabAnalysisReqDto = null;
 
-        // 키 초기화
-        encryptionUtils.init();
 
 
 
         if (analysisReqDto.getProjectId() == null) { // github
             // 엑세스 토큰 가져오기
-            Code code = codeRepository.findById(1002L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
-            AccountLink accountLink = accountLinkRepository.findByMemberAndCode(member, code).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-
-            String accessToken = encryptionUtils.decrypt(accountLink.getAccountLinkReceiveToken());
+            String accessToken = platformCredentialResolver.resolve(memberId, 1002L).accessToken();
 
             String[] split = analysisReqDto.getRepoUrl().split("/");
             String repoName = split[split.length - 1];
             String userName = split[split.length - 2];
 
-            JsonObject jsonObject = getJsonObject(gitHubApiUrl + "/repos/" + userName + "/" + repoName, accessToken);
-//            JsonObject jsonObject = getJsonObject(gitHubApiUrl + "/repos/" + "ffjfjfjjfjffjfjffjfjfjfjffjjfjfjfjfjfjfjfjjfjfjf" + "/" + "Spring-Pay-System", accessToken);
-
-            projectPeriod = getGetProjectPeriod(jsonObject, "created_at", "pushed_at");
-
-            repoMemberCnt = getRepoMemberCnt(gitHubApiUrl + "/repos/" + userName + "/" + repoName + "/" + "contributors", accessToken);
+            RepoPeriodDto repoPeriod = getRepoPeriod(gitHubApiUrl + "/repos/" + userName + "/" + repoName, accessToken);
+
+            projectPeriod = getGetProjectPeriod(repoPeriod.createdAt(), repoPeriod.pushedAt());
+            commitWindow = resolveCommitWindow(analysisReqDto, repoPeriod.createdAt(), repoPeriod.pushedAt());
+            // 비용 추정과 기여자 수는 서로 의존하지 않으므로 동시에 요청
+            try (StructuredFanOut.Scope scope = structuredFanOut.open()) {
+                StructuredFanOut.Subtask<AnalysisEstimateDto> estimateTask = scope.fork(() -> analysisCostEstimator.estimate(false,
+                        gitHubApiUrl + "/repos/" + userName + "/" + repoName + "/commits", accessToken, commitWindow, repoPeriod.sizeKb()));
+                StructuredFanOut.Subtask<Integer> memberCntTask = scope.fork(() ->
+                        getRepoMemberCnt(gitHubApiUrl + "/repos/" + userName + "/" + repoName + "/" + "contributors", accessToken));
+                scope.join();
+                estimate = estimateTask.get();
+                repoMemberCnt = memberCntTask.get();
+            }
+            checkEstimate(estimate);
 
 
             // ai 요청 url
@@ -504,14 +654,14 @@ public class RepoService {
                     .repoPath(sb.toString())
                     .userName(analysisReqDto.getUserName())
                     .accessToken(accessToken)
+                    .since(Objects.toString(commitWindow.since(), null))
+                    .until(Objects.toString(commitWindow.until(), null))
+                    .maxCommits(commitWindow.maxCommits())
                     .build();
 
         } else { // gitlab
             // 엑세스 토큰 가져오기
-            Code code = codeRepository.findById(1003L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
-            AccountLink accountLink = accountLinkRepository.findByMemberAndCode(member, code).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-
-            String accessToken = encryptionUtils.decrypt(accountLink.getAccountLinkReceiveToken());
+            String accessToken = platformCredentialResolver.resolve(memberId, 1003L).accessToken();
 
             String[] split = analysisReqDto.getRepoUrl().split("/");
             String baseUrl = split[2];
@@ -519,10 +669,18 @@ public class RepoService {
 
             System.out.println("gitLabApiUrl = " + gitLabApiUrl);
 
-            JsonObject jsonObject = getJsonObject(gitLabApiUrl, accessToken);
-            projectPeriod = getGetProjectPeriod(jsonObject, "created_at", "updated_at");
-
-            repoMemberCnt = getRepoMemberCnt(gitLabApiUrl + "/members", accessToken);
+            RepoPeriodDto repoPeriod = getRepoPeriod(gitLabApiUrl + "?statistics=true", accessToken);
+            projectPeriod = getGetProjectPeriod(repoPeriod.createdAt(), repoPeriod.updatedAt());
+            commitWindow = resolveCommitWindow(analysisReqDto, repoPeriod.createdAt(), repoPeriod.updatedAt());
+            try (StructuredFanOut.Scope scope = structuredFanOut.open()) {
+                StructuredFanOut.Subtask<AnalysisEstimateDto> estimateTask = scope.fork(() ->
+                        analysisCostEstimator.estimate(true, gitLabApiUrl + "/repository/commits", accessToken, commitWindow, repoPeriod.sizeKb()));
+                StructuredFanOut.Subtask<Integer> memberCntTask = scope.fork(() -> getRepoMemberCnt(gitLabApiUrl + "/members", accessToken));
+                scope.join();
+                estimate = estimateTask.get();
+                repoMemberCnt = memberCntTask.get();
+            }
+            checkEstimate(estimate);
 
             // ai 요청 디티오
             gitlabAnalysisReqDto = AiGitlabAnalysisReqDto.builder()
@@ -531,12 +689,16 @@ public class RepoService {
                     .projectId(String.valueOf(projectId))
                     .userName(analysisReqDto.getUserName())
                     .privateToken(accessToken)
+                    .since(Objects.toString(commitWindow.since(), null))
+                    .until(Objects.toString(commitWindow.until(), null))
+                    .maxCommits(commitWindow.maxCommits())
                     .build();
         }
 
 
         // Redis에 저장하기 전에 객체의 모든 데이터를 JSON 형식으로 저장하도록 설정
-        RedisResult save = redisRepoRepository.save(RedisResult.builder()
+        // 진행 중 인덱스 개수 확인과 추가를 한 번에 (동시에 시작한 요청도 maxActivePerMember 를 넘지 않음)
+        RedisResult save = RedisResult.builder()
                 .analysisId(analysisId)
                 .repoPath(analysisReqDto.getRepoUrl())
                 .projectId(projectId)
@@ -546,10 +708,20 @@ public class RepoService {
                 .percentage(0)
                 .repoStartDate(projectPeriod.get("repoStartDate"))
                 .repoEndDate(projectPeriod.get("repoEndDate"))
+                .analysisSince(commitWindow.since())
+                .analysisUntil(commitWindow.until())
+                .maxCommits(commitWindow.maxCommits())
+                .estimate(estimate)
                 .repoMemberCnt(repoMemberCnt)
                 .status("000")
                 .expireSec(86400L)
-                .build());
+                .build();
+        // 진척도 조회 heartbeat 시작 (조회가 끊기면 AI 서버가 분석을 멈춘다)
+        // 인덱스에 들어가기 전에 시작해서, heartbeat 가 없는 진행 중 분석은 멈춘 분석으로 볼 수 있게 한다. (getActiveAnalyses)
+        analysisCancellation.startPolling(analysisId);
+        if (!redisRepoRepository.saveWithinActiveLimit(save, maxActivePerMember)) {
+            throw new BaseException(StatusCode.TOO_MANY_ACTIVE_ANALYSIS);
+        }
 
         // AI 서버로 요청 보내기 (body: repoUrl, userName, memberId, isOwn)
         // platform code에 따라 요청 보낼 url 분기처리
@@ -588,10 +760,51 @@ public class RepoService {
         return analysisId;
     }
 
-    public RepoDetailResDto getDoneAnalysis(Long memberId, String analysisId) {
+    /**
+     * 진행 중인 분석 목록 (시작 시각 순)
+     * - 회원별 인덱스(active:{memberId})에 있는 분석만 조회한다.
+     * - 결과가 없거나, 이미 끝났거나, 진척도 조회 heartbeat(poll:{analysisId})가 만료된(AI 서버가 멈춘) 분석은 인덱스에서만 뺀다.
+     *   (결과는 ttl 로 만료, 오래 걸려도 조회 중인 분석은 그대로 둔다)
+     */
+    public List<ActiveAnalysisResDto> getActiveAnalyses(Long memberId) {
+        List<ZSetOperations.TypedTuple<String>> entries = activeAnalysisIndex.findAll(memberId);
+        Set<String> abandonedIds = analysisCancellation.findNotPolling(entries.stream().map(ZSetOperations.TypedTuple::getValue).toList());
+
+        List<ActiveAnalysisResDto> activeList = new ArrayList<>();
+        List<String> finishedIds = new ArrayList<>();
+        for (ZSetOperations.TypedTuple<String> tuple : entries) {
+            String analysisId = tuple.getValue();
+            if (abandonedIds.contains(analysisId)) {
+                finishedIds.add(analysisId);
+                continue;
+            }
+            Optional<RedisResult> redisData = redisRepoRepository.findById(analysisId);
+            if (redisData.isEmpty() || !ActiveAnalysisIndex.isActive(redisData.get().getStatus())) {
+                finishedIds.add(analysisId);
+                continue;
+            }
+            activeList.add(ActiveAnalysisResDto.builder()
+                    .analysisId(analysisId)
+                    .repoPath(redisData.get().getRepoPath())
+                    .percentage(redisData.get().getPercentage())
+                    .status(redisData.get().getStatus())
+                    .startedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(tuple.getScore().longValue()), ZoneId.systemDefault()))
+                    .build());
+        }
+        activeAnalysisIndex.remove(memberId, finishedIds);
+
+        return activeList;
+    }
+
+    public Mono<RepoDetailResDto> getDoneAnalysis(Long memberId, String analysisId) {
 
         // redis에서 analysisId에 해당하는 요소를 가져온다.
-        RedisResult redisData = redisRepoRepository.findById(analysisId).orElseThrow(() -> new BaseException(StatusCode.ANALYSIS_RESULT_NOT_EXIST));
+        return reactiveRedisResultRepository.findById(analysisId)
+                .switchIfEmpty(Mono.error(new BaseException(StatusCode.ANALYSIS_RESULT_NOT_EXIST)))
+                .map(redisData -> toDoneAnalysis(memberId, redisData));
+    }
+
+    private RepoDetailResDto toDoneAnalysis(Long memberId, RedisResult redisData) {
         String redisRepoPath = redisData.getRepoPath();
 
 
@@ -632,12 +845,17 @@ public class RepoService {
                 .repoViewTotalCommitCnt(aiResult.getTotalCommitCnt())
                 .repoViewCommitCnt(aiResult.getPersonalCommitCnt())
                 .repoViewMemberCnt(redisData.getRepoMemberCnt())
+                .analysisSince(redisData.getAnalysisSince())
+                .analysisUntil(redisData.getAnalysisUntil())
+                .maxCommits(redisData.getMaxCommits())
+                .windowTruncated(isWindowTruncated(redisData))
                 .build();
 
         if (!isMine) {
             return RepoDetailResDto.builder()
                     .repoCardDto(repoCardDto)
                     .basicDetailDto(basicDetailDto)
+                    .analysisEstimateDto(redisData.getEstimate())
                     .build();
         }
 
@@ -647,37 +865,78 @@ public class RepoService {
                 .repoCardDto(repoCardDto)
                 .basicDetailDto(basicDetailDto)
                 .commitScoreDto(commitScoreDto)
+                .analysisEstimateDto(redisData.getEstimate())
                 .build();
     }
 
 
-    public AnalysisCheckResDto checkAnalysis(Long memberId, String analysisId) {
+    public Mono<AnalysisCheckResDto> checkAnalysis(Long memberId, String analysisId) {
 
         // redis에서 analysisId에 해당하는 요소를 가져온다.
-        RedisResult redisData = redisRepoRepository.findById(analysisId).orElseThrow(() -> new BaseException(StatusCode.ANALYSIS_RESULT_NOT_EXIST));
-        String redisRepoPath = redisData.getRepoPath();
+        return reactiveRedisResultRepository.findById(analysisId)
+                .switchIfEmpty(Mono.error(new BaseException(StatusCode.ANALYSIS_RESULT_NOT_EXIST)))
+                .flatMap(redisData -> {
+                    // memberId와 요소의 memberId의 일치여부를 확인한다.(로그인한 유저와 분석요청 유저의 일치 여부)
+                    Long redisMemberId = redisData.getMemberId();
+                    if (!Objects.equals(memberId, redisMemberId)) {
+                        // 일치하지 않으면 예외 발생
+                        return Mono.error(new BaseException(StatusCode.REPO_REQ_MEMBER_NOT_MATCH));
+                    }
 
+                    // 분석 상태를 체크한다.
+                    // PROCESSING 이나 DONE 이 아니면 redis 데이터를 삭제하고 예외를 발생시킨다.
+                    if (Integer.parseInt(redisData.getStatus()) > 200) {
+                        return reactiveRedisResultRepository.deleteById(analysisId)
+                                .then(Mono.error(new BaseException(StatusCode.RETRY_AI_ANALYSIS)));
+                    }
 
-        // memberId와 요소의 memberId의 일치여부를 확인한다.(로그인한 유저와 분석요청 유저의 일치 여부)
-        Long redisMemberId = redisData.getMemberId();
-        if (!Objects.equals(memberId, redisMemberId)) {
-            // 일치하지 않으면 예외 발생
+                    // 일치하면 요소에서 percentage를 가져온다.
+                    // 진척도를 조회하고 있다는 heartbeat 도 갱신한다.
+                    return analysisCancellation.touchPolling(analysisId)
+                            .thenReturn(AnalysisCheckResDto.builder()
+                                    .analysisId(analysisId)
+                                    .percentage(redisData.getPercentage())
+                                    .build());
+                });
+    }
+
+    /**
+     * 분석 취소
+     * - 취소 표시를 남겨 AI 서버(단계 사이)와 코드 줄 수 수집(페이지 사이)이 멈추도록 하고, 분석 결과와 진행 중 인덱스를 지운다.
+     */
+    public void cancelAnalysis(Long memberId, String analysisId) {
+        RedisResult redisData = redisRepoRepository.findById(analysisId).orElseThrow(() -> new BaseException(StatusCode.ANALYSIS_RESULT_NOT_EXIST));
+
+        if (!Objects.equals(memberId, redisData.getMemberId())) {
             throw new BaseException(StatusCode.REPO_REQ_MEMBER_NOT_MATCH);
         }
 
-        // 분석 상태를 체크한다.
-        // PROCESSING 이나 DONE 이 아니면 redis 데이터를 삭제하고 예외를 발생시킨다.
-        if (Integer.parseInt(redisData.getStatus()) > 200) {
-            System.out.println("redisData.getStatus() = " + redisData.getStatus());
-            redisRepoRepository.deleteById(analysisId);
-            throw new BaseException(StatusCode.RETRY_AI_ANALYSIS);
-        }
+        analysisCancellation.cancel(analysisId);
+        redisRepoRepository.delete(redisData);
+        locCheckpointRepository.deleteById(analysisId);
+        languagePreviewRepository.deleteById(analysisId);
+    }
 
-        // 일치하면 요소에서 percentage를 가져온다.
-        return AnalysisCheckResDto.builder()
-                .analysisId(analysisId)
-                .percentage(redisData.getPercentage())
-                .build();
+    /**
+     * 분석 진척도 스트림 (SSE)
+     * - progressStreamInterval 마다 진척도를 확인해서 바뀌었을 때만 내려보낸다.
+     * - 100% 가 되거나 에러가 나면(에러 이벤트 전송) 스트림을 끝낸다.
+     * - SSE 응답은 서블릿 비동기 타임아웃이 걸리지 않으므로 progressStreamMaxSec 이 이 스트림만의 최대 시간이다.
+     */
+    public Flux<ServerSentEvent<BaseResponse<AnalysisCheckResDto>>> streamAnalysis(Long memberId, String analysisId) {
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(progressStreamIntervalMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> checkAnalysis(memberId, analysisId))
+                .distinctUntilChanged(AnalysisCheckResDto::getPercentage)
+                .takeUntil(check -> check.getPercentage() != null && check.getPercentage() >= 100)
+                .take(Duration.ofSeconds(progressStreamMaxSec))
+                .map(check -> ServerSentEvent.<BaseResponse<AnalysisCheckResDto>>builder(new BaseResponse<>(check))
+                        .event("progress")
+                        .build())
+                .onErrorResume(BaseException.class, e -> Mono.just(
+                        ServerSentEvent.<BaseResponse<AnalysisCheckResDto>>builder(new BaseResponse<>(e.getStatusCode()))
+                                .event("error")
+                                .build()));
     }
 
 
@@ -711,6 +970,8 @@ public class RepoService {
             CodeCntDto codeCntDto = CodeCntDto.builder()
                     .codeName(loc.getSkillCode().getCodeName())
                     .lineCnt(loc.getLineCount())
+                    .approximate(Boolean.TRUE.equals(loc.getApproximate()))
+                    .lineCntMargin(loc.getMargin())
                     .build();
             lineCntList.add(codeCntDto);
         }
@@ -825,8 +1086,8 @@ public class RepoService {
 
     public List<CntBySkillDto> getRepoViewCntBySkillCode() {
         // 타입이 기술인 코드들 가져오기
-        Type type = typeRepository.findById("3").orElseThrow(() -> new BaseException(StatusCode.TYPE_NOT_FOUND));
-        List<Code> codeList = codeRepository.findByType(type);
+        Type type = codeRegistry.findTypeById("3").orElseThrow(() -> new BaseException(StatusCode.TYPE_NOT_FOUND));
+        List<Code> codeList = codeRegistry.findByTypeId(type.getTypeId());
 
         List<CntBySkillDto> repoViewCntBySkillDtoList = new ArrayList<>();
 
@@ -843,229 +1104,4 @@ public class RepoService {
         return repoViewCntBySkillDtoList;
     }
 
-    public void processLinesOfCode(RepoView repoView, RepoInfo repoInfo, Member member) throws Exception {
-        List<Map<String, Object>> commits;
-        String userName = null;
-        String repoName = null;
-        String accessToken;
-
-        if (repoInfo.getRepoGitLabProjectId() != null) {
-
-            accessToken = accountLinkRepository.findByMemberAndCodeCodeId(member, 1003L).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST)).getAccountLinkReceiveToken();
-            accessToken = encryptionUtils.decrypt(accessToken);
-            commits = fetchGitLabCommits(repoInfo.getRepoGitLabProjectId(), accessToken);
-            System.out.println("!#!#!#!#!#!#!#!#!#");
- 
-        } else {
-            AccountLink accountLink = accountLinkRepository.findByMemberAndCodeCodeId(member, 1002L).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-            accessToken = accountLink.getAccountLinkReceiveToken();
-            accessToken = encryptionUtils.decrypt(accessToken);
-
-            String[] split = repoInfo.getRepoPath().split("/");
-            repoName = split[split.length - 1];
-            userName = split[split.length - 2];
-
-            System.out.println("!!!!!!!!!!!!!!!!!!!!");
-            commits = fetchGitHubCommits(repoName, userName, accessToken);
-            System.out.println("!!!!!!!!!!!!!!11111111111111");
-        }
-
-        System.out.println("!@!@!@!@!@!@!@!@!@!@!@");
-        Map<String, Integer> linesOfCodeMap = calculateLinesOfCode(member, commits, repoInfo.getRepoGitLabProjectId(), repoName, userName, accessToken, repoInfo.getRepoGitLabProjectId() != null);
-
-        List<Map.Entry<String, Integer>> linesOfCodeList = new ArrayList<>(linesOfCodeMap.entrySet());
-
-        System.out.println("parents linesOfCodeList.size() = " + linesOfCodeList.size());
-
-        for (Map.Entry<String, Integer> entry : linesOfCodeList) {
-            if (entry.getKey() == null) {
-                continue;
-            }
-            Optional<Code> code = codeRepository.findByCodeName(entry.getKey());
-            if (code.isPresent()) {
-            LineOfCode lineOfCode = LineOfCode.builder()
-                    .repoView(repoView)
-                    .skillCode(code.get())
-                    .lineCount(entry.getValue())
-                    .build();
-            lineOfCodeRepository.save(lineOfCode);
-            }
-        }
-
-        System.out.println("process lines of code end!!!!");
-    }
-
-    private List<Map<String, Object>> fetchGitHubCommits(String repoName, String username, String accessToken) throws JsonProcessingException {
-        List<Map<String, Object>> allCommits = new ArrayList<>();
-        int page = 1;
-
-        while (true) {
-            String url = String.format("https://api.github.com/repos/%s/%s/commits?page=%d&per_page=100", username, repoName, page);
-
-            List<Map<String, Object>> commits = webClient.get()
-                    .uri(url)
-                    .headers(headers -> headers.setBearerAuth(accessToken))
-                    .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, response -> {
-                        if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
-                            return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
-                        } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
-                            return Mono.error(new BaseException(StatusCode.NOT_FOUND));
-                        } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
-                            return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitHub commits fetching"));
-                        } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
-                            return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitHub commits fetching"));
-                        } else {
-                            return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub commits fetching"));
-                        }
-                    })
-                    .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitHub 코드 줄 수")))
-                    .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                    .block(Duration.ofSeconds(20));
-            // Synchronously wait for the result
-
-            if (commits == null || commits.isEmpty()) {
-                break;
-            }
-
-            allCommits.addAll(commits);
-            page++;
-        }
-        return allCommits;
-
-    }
-
-    private List<Map<String, Object>> fetchGitLabCommits(Integer projectId, String accessToken) throws JsonProcessingException {
-        List<Map<String, Object>> allCommits = new ArrayList<>();
-        int page = 1;
-
-        while (true) {
-            String url = String.format("https://lab.ssafy.com/api/v4/projects/%s/repository/commits?page=%d&per_page=100", projectId, page);
-            System.out.println("fetchGitLabCommits url = " + url);
-
-            List<Map<String, Object>> commits = webClient.get()
-                    .uri(url)
-                    .headers(headers -> headers.setBearerAuth(accessToken))
-                    .retrieve()
-                    .onStatus(HttpStatusCode::is4xxClientError, response -> {
-                        if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
-                            return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
-                        } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
-                            return Mono.error(new BaseException(StatusCode.NOT_FOUND));
-                        } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
-                            return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitLab commits fetching"));
-                        } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
-                            return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitLab commits fetching"));
-                        } else {
-                            return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitLab commits fetching"));
-                        }
-                    })
-                    .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new ResponseStatusException(response.statusCode(), "Server error during GitLab 코드 줄 수")))
-                    .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                    .block(Duration.ofSeconds(20)); // Synchronously wait for the result
-
-
-            if (commits == null || commits.isEmpty()) {
-                System.out.println("last page = " + page);
-                break;
-            }
-
-            allCommits.addAll(commits);
-            page++;
-        }
-
-        System.out.println("allCommits.size = " + allCommits.size());
-        return allCommits;
-    }
-    private Map<String, Integer> calculateLinesOfCode(Member member, List<Map<String, Object>> commits, Integer projectId, String repoName, String username, String accessToken, boolean isGitLab) {
-        // Line of code map to hold the skillCodeId and their respective line counts
-        Map<String, Integer> linesOfCodeMap = new HashMap<>();
-        int cnt = 0;
-
-        AccountLink accountLink = accountLinkRepository.findByMemberAndCodeCodeId(member, 1003L).orElseThrow(() -> new BaseException(StatusCode.ACCOUNT_LINK_NOT_EXIST));
-        for (Map<String, Object> commit : commits) {
-            if (isGitLab) {
-                if (!commit.get("author_email").equals(accountLink.getAccountLinkEmail())){
-                    continue;
-                }
-            }
-            String commitSha = isGitLab ? (String) commit.get("id") : (String) commit.get("sha");
-            cnt++;
-
-            List<Map<String, Object>> files = isGitLab ? fetchGitLabCommitFiles(commitSha, projectId, accessToken) : fetchGitHubCommitFiles(repoName, commitSha, username, accessToken);
-
-            for (Map<String, Object> file : files) {
-                String filename = isGitLab ? (String) file.get("new_path") : (String) file.get("filename");
-                Integer linesAdded = isGitLab ? (Integer) countAddedLines((String) file.get("diff")) : (Integer) file.get("additions");
-                String skillCodeName = externalApiService.getLanguageFromFilePath(filename); // You need to implement this method to map filename to skillCodeId
-
-                linesOfCodeMap.put(skillCodeName, linesOfCodeMap.getOrDefault(skillCodeName, 0) + linesAdded);
-            }
-        }
-        System.out.println("linesOfCodeMap.size() = " + linesOfCodeMap.size());
-        System.out.println("cnt = " + cnt);
-
-        return linesOfCodeMap;
-    }
-    private int countAddedLines(String diffText) {
-        int count = 0;
-        String[] lines = diffText.split("\n");
-        for (String line : lines) {
-            if (line.startsWith("+") && !line.startsWith("+++")) {
-                count++;
-            }
-        }
-        return count;
-    }
-    private List<Map<String, Object>> fetchGitHubCommitFiles(String repoName, String commitSha, String username, String accessToken) {
-        String url = String.format("https://api.github.com/repos/%s/%s/commits/%s", username, repoName, commitSha);
-
-        return webClient.get()
-                .uri(url)
-                .headers(headers -> headers.setBearerAuth(accessToken))
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, response -> {
-                    if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
-                        return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
-                    } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
-                        return Mono.error(new BaseException(StatusCode.NOT_FOUND));
-                    } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitHub commit files fetching"));
-                    } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitHub commit files fetching"));
-                    } else {
-                        return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitHub commit files fetching"));
-                    }
-                })
-                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                .map(response -> (List<Map<String, Object>>) response.get("files"))
-                .block(Duration.ofSeconds(10)); // Synchronously wait for the result
-    }
-
-    private List<Map<String, Object>> fetchGitLabCommitFiles(String commitSha, Integer projectId, String accessToken) {
-        String url = String.format("https://lab.ssafy.com/api/v4/projects/%s/repository/commits/%s/diff", projectId, commitSha);
-
-        System.out.println("fetchGitLabCommitFiles url = " + url);
-
-        return webClient.get()
-                .uri(url)
-                .headers(headers -> headers.setBearerAuth(accessToken))
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, response -> {
-                    if (response.statusCode().equals(HttpStatus.UNAUTHORIZED)) {
-                        return Mono.error(new BaseException(StatusCode.UNAUTHORIZED_API_ERROR));
-                    } else if (response.statusCode().equals(HttpStatus.NOT_FOUND)) {
-                        return Mono.error(new BaseException(StatusCode.NOT_FOUND));
-                    } else if (response.statusCode().equals(HttpStatus.CONFLICT)) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Conflict error during GitLab commit files fetching"));
-                    } else if (response.statusCode().equals(HttpStatus.FORBIDDEN)) {
-                        return Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden error during GitLab commit files fetching"));
-                    } else {
-                        return Mono.error(new ResponseStatusException(response.statusCode(), "Client error during GitLab commit files fetching"));
-                    }
-                })
-                .bodyToMono(new ParameterizedTypeReference<List<Map<String, Object>>>() {})
-                .block(Duration.ofSeconds(10)); // Synchronously wait for the result
-    }
-
 }
@@ -0,0 +1,18 @@
+package com.dev101.coa.global.common;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔드포인트의 처리 시간 예산 (밀리초)
+ * - 요청이 들어온 시각 + 예산이 마감 시각이 된다. 클라이언트가 더 짧은 예산을 헤더로 보내면 그쪽을 쓴다.
+ * - 컨트롤러 클래스에 달면 그 안의 모든 엔드포인트, 메서드에 달면 그 엔드포인트만
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestBudget {
+
+    long value();
+}
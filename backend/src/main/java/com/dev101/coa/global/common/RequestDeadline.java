@@ -0,0 +1,142 @@
+package com.dev101.coa.global.common;
+
+import com.dev101.coa.global.exception.BaseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 요청의 마감 시각 (RequestDeadlineInterceptor 가 엔드포인트 예산(@RequestBudget) / 클라이언트 헤더로 정한다.)
+ * - blocking 코드: 요청 스레드의 ThreadLocal 에서 읽는다. (WebClient 요청 속성, JPA 트랜잭션 타임아웃)
+ * - reactive 체인: Reactor Context(CONTEXT_KEY)로 넘긴다. 스레드가 바뀌어도 외부 요청 필터가 마감 시각을 알 수 있다.
+ * - 마감 시각이 없는 요청(예산도 헤더도 없음)은 지금처럼 호출마다 정한 타임아웃만 적용된다.
+ */
+public final class RequestDeadline {
+
+    public static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void set(Instant deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static Optional<Instant> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static Optional<Instant> from(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY).map(Instant.class::cast);
+    }
+
+    // 남은 시간 (지났으면 0)
+    public static Duration remaining(Instant deadline) {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public static boolean isExpired(Instant deadline) {
+        return !Instant.now().isBefore(deadline);
+    }
+
+    public static boolean isDeadlineExceeded(Throwable e) {
+        return e instanceof BaseException baseException && baseException.getStatusCode() == StatusCode.DEADLINE_EXCEEDED;
+    }
+
+    public static void throwIfExpired() {
+        current().ifPresent(RequestDeadline::throwIfExpired);
+    }
+
+    public static void throwIfExpired(Instant deadline) {
+        if (isExpired(deadline)) {
+            throw new BaseException(StatusCode.DEADLINE_EXCEEDED);
+        }
+    }
+
+    // 지금 스레드의 마감 시각을 담은 Reactor Context (없으면 빈 Context)
+    public static Context context() {
+        return current().map(deadline -> Context.of(CONTEXT_KEY, deadline)).orElse(Context.empty());
+    }
+
+    /**
+     * 요청 스레드에서 만든 Mono 에 마감 시각을 붙인다.
+     * - 안쪽 외부 요청 / redis 명령이 Context 로 마감 시각을 받고, 전체도 남은 시간 안에 끝나지 않으면 DEADLINE_EXCEEDED 로 끝낸다.
+     */
+    public static <T> Mono<T> bound(Mono<T> mono) {
+        Optional<Instant> deadline = current();
+        if (deadline.isEmpty()) {
+            return mono;
+        }
+        return mono
+                .timeout(remaining(deadline.get()))
+                .onErrorMap(TimeoutException.class, e -> new BaseException(StatusCode.DEADLINE_EXCEEDED))
+                .contextWrite(Context.of(CONTEXT_KEY, deadline.get()));
+    }
+
+    /**
+     * reactive 체인 안에서 blocking 작업(JPA 조회 등)을 실행할 때 Context 의 마감 시각을 그 스레드에도 건다. (트랜잭션 타임아웃에 적용)
+     */
+    public static <T> Mono<T> blocking(Callable<T> callable) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> {
+            Optional<Instant> deadline = from(context);
+            if (deadline.isEmpty()) {
+                return callable.call();
+            }
+            throwIfExpired(deadline.get());
+            Instant previous = CURRENT.get();
+            CURRENT.set(deadline.get());
+            try {
+                return callable.call();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        }));
+    }
+
+    /**
+     * 마감 시각까지 받은 항목만 모은다. (부분 결과, 마감 시각이 지나도 에러가 아니라 partial = true)
+     * - 마감 시각은 구독할 때의 Context 에서 읽는다.
+     */
+    public static <T> Mono<Collected<T>> collectUntilDeadline(Flux<T> flux) {
+        return Mono.deferContextual(context -> {
+            Optional<Instant> deadline = from(context);
+            if (deadline.isEmpty()) {
+                return flux.collectList().map(items -> new Collected<>(items, false));
+            }
+            // 끝까지 받았는지는 마지막 표시(Optional.empty())가 들어왔는지로 판단
+            return flux.map(Optional::of)
+                    .concatWith(Mono.just(Optional.<T>empty()))
+                    .take(remaining(deadline.get()))
+                    // 안쪽 외부 요청이 먼저 마감 시각에 걸려도 그때까지 받은 항목은 돌려준다.
+                    .onErrorResume(RequestDeadline::isDeadlineExceeded, e -> Flux.empty())
+                    .collectList()
+                    .map(received -> {
+                        boolean complete = !received.isEmpty() && received.get(received.size() - 1).isEmpty();
+                        List<T> items = received.stream().flatMap(Optional::stream).toList();
+                        return new Collected<>(items, !complete);
+                    });
+        });
+    }
+
+    public record Collected<T>(List<T> items, boolean partial) {
+    }
+}
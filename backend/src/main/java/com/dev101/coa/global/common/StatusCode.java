@@ -26,6 +26,11 @@ public enum StatusCode {
     AI_SERVER_ERROR(false, 500, "AI 서버로부터 응답을 받지 못했습니다."),
     ANALYSIS_RESULT_NOT_EXIST(false, 501, "분석 결과과 존재하지 않습니다."),
     RETRY_AI_ANALYSIS(false, 502, "AI 분석 중 문제가 발생했습니다. 다시 분석요청을 보내주세요."),
+    TOO_MANY_ACTIVE_ANALYSIS(false, 503, "진행 중인 분석이 너무 많습니다. 진행 중인 분석이 끝난 후 다시 요청해주세요."),
+    ANALYSIS_CANCELLED(false, 504, "취소된 분석입니다."),
+    INVALID_ANALYSIS_WINDOW(false, 505, "분석 기간 또는 최대 커밋 수가 올바르지 않습니다."),
+    ANALYSIS_TOO_EXPENSIVE(false, 506, "커밋이나 파일이 너무 많습니다. 분석 기간이나 최대 커밋 수를 줄여주세요."),
+    ANALYSIS_RATE_LIMITED(false, 507, "남은 API 사용량이 부족합니다. 잠시 후 다시 요청해주세요."),
 
     // Member : 600
     COOKIE_NOT_FOUND(false, 600, "쿠키가 존재하지 않습니다."),
@@ -45,6 +50,8 @@ public enum StatusCode {
     CANNOT_GET_CONTRIBUTOR(false, 801, "contributor 수를 가져오는데 실패했습니다."),
     SERVICE_UNAVAILABLE(false, 802, "비동기 요청 에러"),
     PROJECT_NOT_FOUND(false, 803, "본인이 기여하지 않은 프로젝트 입니다."),
+    EXTERNAL_API_UNAVAILABLE(false, 804, "외부 서비스가 원활하지 않아 잠시 요청을 막았습니다. 잠시 후 다시 시도해주세요."),
+    DEADLINE_EXCEEDED(false, 805, "요청 처리 시간을 넘겨 작업을 멈췄습니다. 다시 요청하면 이어서 처리합니다."),
 
     // search : 900
     KEYWORD_EMPTY(false, 900, "검색 키워드가 빈 문자열 입니다."),
@@ -0,0 +1,174 @@
+package com.dev101.coa.global.common;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 서로 의존하지 않는 blocking 외부 요청을 동시에 보내고 모두 끝날 때까지 기다리는 도우미
+ * - StructuredTaskScope.ShutdownOnFailure 와 같은 규칙: 하나가 실패하면 나머지를 취소(interrupt)하고 그 예외를 그대로 던진다.
+ *   scope 를 닫으면 끝나지 않은 작업도 취소한다. (try-with-resources 밖으로 작업이 새지 않음)
+ * - 작업은 applicationTaskExecutor 에서 실행한다.
+ *   Java 21 에서 spring.threads.virtual.enabled=true 면 virtual thread, 아니면 spring.task.execution.pool.* 의 platform thread 풀
+ * - 요청의 마감 시각(RequestDeadline)은 작업 스레드로 넘긴다.
+ * - 기다리는 쪽이 virtual thread 여도 carrier 를 잡고 있지 않도록 synchronized 대신 lock 을 쓴다.
+ *
+ * <pre>
+ * try (StructuredFanOut.Scope scope = structuredFanOut.open()) {
+ *     StructuredFanOut.Subtask&lt;A&gt; a = scope.fork(() -> ...);
+ *     StructuredFanOut.Subtask&lt;B&gt; b = scope.fork(() -> ...);
+ *     scope.join();
+ *     use(a.get(), b.get());
+ * }
+ * </pre>
+ */
+@Component
+public class StructuredFanOut {
+
+    private final AsyncTaskExecutor executor;
+
+    public StructuredFanOut(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    public Scope open() {
+        return new Scope(executor);
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final AsyncTaskExecutor executor;
+        private final List<Future<?>> futures = new ArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private int running;
+        private Throwable failure;
+        private volatile boolean joined;
+
+        private Scope(AsyncTaskExecutor executor) {
+            this.executor = executor;
+        }
+
+        public <T> Subtask<T> fork(Callable<T> task) {
+            lock.lock();
+            try {
+                if (failure != null) {
+                    throw new IllegalStateException("scope already failed");
+                }
+                running++;
+            } finally {
+                lock.unlock();
+            }
+
+            // 요청의 마감 시각을 작업 스레드에도 건다. (외부 요청, 트랜잭션 타임아웃)
+            Instant deadline = RequestDeadline.current().orElse(null);
+            Future<T> future = executor.submit(() -> {
+                Throwable error = null;
+                if (deadline != null) {
+                    RequestDeadline.set(deadline);
+                }
+                try {
+                    return task.call();
+                } catch (Throwable e) {
+                    error = e;
+                    throw e;
+                } finally {
+                    RequestDeadline.clear();
+                    finished(error);
+                }
+            });
+            futures.add(future);
+            return new Subtask<>(this, future);
+        }
+
+        // 모든 작업이 끝나거나 하나가 실패할 때까지 기다린다. (실패하면 나머지를 취소하고 그 예외를 던짐)
+        public void join() throws Exception {
+            Throwable error;
+            lock.lock();
+            try {
+                while (running > 0 && failure == null) {
+                    changed.await();
+                }
+                error = failure;
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+
+            if (error != null) {
+                cancelAll();
+                if (error instanceof Exception exception) {
+                    throw exception;
+                }
+                throw (Error) error;
+            }
+            joined = true;
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void finished(Throwable error) {
+            lock.lock();
+            try {
+                running--;
+                // 취소되어 interrupt 된 작업의 예외는 원인이 아니므로 처음 실패만 남긴다.
+                if (error != null && failure == null) {
+                    failure = error;
+                }
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void cancelAll() {
+            for (Future<?> future : futures) {
+                if (!future.isDone()) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    public static final class Subtask<T> {
+
+        private final Scope scope;
+        private final Future<T> future;
+
+        private Subtask(Scope scope, Future<T> future) {
+            this.scope = scope;
+            this.future = future;
+        }
+
+        // join() 이 정상으로 끝난 뒤에만 호출
+        // - 작업이 끝났다고 알린(finished) 뒤 Future 에 결과가 들어가기까지 잠깐 틈이 있어서 isDone 대신 join 여부로 확인하고 future.get() 으로 기다린다.
+        public T get() {
+            if (!scope.joined) {
+                throw new IllegalStateException("subtask not joined");
+            }
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
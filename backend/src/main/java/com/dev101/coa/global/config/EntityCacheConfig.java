@@ -0,0 +1,105 @@
+package com.dev101.coa.global.config;
+
+import com.dev101.coa.domain.code.entity.Code;
+import com.dev101.coa.domain.code.entity.Type;
+import com.dev101.coa.domain.member.entity.AccountLink;
+import com.dev101.coa.domain.member.entity.Member;
+import com.dev101.coa.domain.member.entity.MemberJob;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA 2차 캐시 (엔티티 + 쿼리 캐시, 노드 메모리의 caffeine JCache)
+ * - 대상: Member, MemberJob, AccountLink, Code, Type (read-write, 엔티티에 @Cache)
+ * - 쿼리 캐시는 리포지토리 메서드에 힌트를 단 것만, 엔티티별 영역(*_QUERIES)에 둔다.
+ * - 다른 노드에서 바뀐 항목은 EntityCacheInvalidator 가 redis 로 받아서 지운다. ttl 은 메시지가 유실됐을 때의 안전망
+ * - 지표: actuator 의 hibernate.second.level.cache.* / hibernate.query.cache.*, 영역별 적중률은 hibernate.l2.hit-ratio
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String MEMBER_QUERIES = "query.member";
+    public static final String MEMBER_JOB_QUERIES = "query.memberJob";
+    public static final String ACCOUNT_LINK_QUERIES = "query.accountLink";
+
+    // 엔티티 이름 → 그 엔티티를 돌려주는 쿼리 캐시 영역
+    public static final Map<String, String> QUERY_REGIONS = Map.of(
+            Member.class.getName(), MEMBER_QUERIES,
+            MemberJob.class.getName(), MEMBER_JOB_QUERIES,
+            AccountLink.class.getName(), ACCOUNT_LINK_QUERIES);
+
+    public static final List<String> ENTITY_REGIONS = List.of(
+            Member.class.getName(),
+            MemberJob.class.getName(),
+            AccountLink.class.getName(),
+            Code.class.getName(),
+            Type.class.getName());
+
+    @Value("${app.entity-cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.entity-cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    // 영역은 미리 만들어서 크기 / ttl 을 건다. (hibernate 가 만들게 두면 크기 제한이 없음)
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : ENTITY_REGIONS) {
+            createIfAbsent(cacheManager, region, boundedRegion());
+        }
+        for (String region : QUERY_REGIONS.values()) {
+            createIfAbsent(cacheManager, region, boundedRegion());
+        }
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, boundedRegion());
+        // 테이블별 마지막 수정 시각, 쿼리 캐시가 지난 결과인지 판단하는 기준이라 크기 제한 / 만료를 두지 않는다.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        createIfAbsent(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            // 적중률 지표
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    // 같은 JVM 에서 컨텍스트를 다시 띄우면(devtools 재시작, 테스트) CacheManager 를 같이 쓰므로 이미 있으면 그대로 둔다.
+    private static void createIfAbsent(CacheManager cacheManager, String region, CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+
+    private CaffeineConfiguration<Object, Object> boundedRegion() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,151 @@
+package com.dev101.coa.global.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * JPA 2차 캐시 노드 간 무효화 (EntityCacheConfig)
+ * - 캐시 대상 엔티티가 커밋되면(추가 / 수정 / 삭제) INVALIDATE_CHANNEL 로 "노드 id|엔티티 이름|id" 를 발행한다.
+ * - 다른 노드는 해당 엔티티 항목과 그 엔티티의 쿼리 캐시 영역을 지운다. (자기가 보낸 메시지는 무시, 현재 노드는 hibernate 가 이미 갱신)
+ * - 메시지에는 id 만 보낸다. (엔티티 값, 토큰은 redis 에 올리지 않음)
+ * - @Modifying 벌크 쿼리는 이벤트가 없어서 다른 노드에 알리지 못한다. 캐시 대상 엔티티는 엔티티로 저장한다.
+ * - 지표: hibernate.l2.hit-ratio (region 태그, 엔티티 / 쿼리 캐시 영역별 적중률)
+ */
+@Slf4j
+@Component
+public class EntityCacheInvalidator implements MessageListener, PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    public static final String INVALIDATE_CHANNEL = "entity:invalidate";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final SessionFactoryImplementor sessionFactory;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory, StringRedisTemplate stringRedisTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : EntityCacheConfig.ENTITY_REGIONS) {
+            registerHitRatio(region, name -> statistics.getDomainDataRegionStatistics(name));
+        }
+        for (String region : EntityCacheConfig.QUERY_REGIONS.values()) {
+            registerHitRatio(region, name -> statistics.getQueryRegionStatistics(name));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    // 롤백되면 현재 노드 캐시도 바뀌지 않았으므로 알릴 것이 없다.
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        String entityName = parts[1];
+        try {
+            EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityName);
+            Object id = Long.class.equals(persister.getIdentifierType().getReturnedClass()) ? Long.valueOf(parts[2]) : parts[2];
+            sessionFactory.getCache().evictEntityData(entityName, id);
+            String queryRegion = EntityCacheConfig.QUERY_REGIONS.get(entityName);
+            if (queryRegion != null) {
+                sessionFactory.getCache().evictQueryRegion(queryRegion);
+            }
+        } catch (RuntimeException e) {
+            log.warn("ignore invalid entity cache invalidation message: entity={}", entityName, e);
+        }
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        if (id == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATE_CHANNEL, nodeId + "|" + persister.getEntityName() + "|" + id);
+        } catch (RuntimeException e) {
+            // 다른 노드는 ttl(app.entity-cache.ttl-ms) 이 지나면 다시 읽는다.
+            log.warn("failed to publish entity cache invalidation: entity={}, id={}", persister.getEntityName(), id, e);
+        }
+    }
+
+    private void registerHitRatio(String region, Function<String, CacheRegionStatistics> stats) {
+        Gauge.builder("hibernate.l2.hit-ratio", () -> hitRatio(stats.apply(region)))
+                .description("JPA 2차 캐시 영역별 적중률")
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics stats) {
+        if (stats == null) {
+            return 0;
+        }
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return requests == 0 ? 0 : (double) stats.getHitCount() / requests;
+    }
+}
@@ -0,0 +1,290 @@
+package com.dev101.coa.global.config;
+
+import com.dev101.coa.global.common.StatusCode;
+import com.dev101.coa.global.exception.BaseException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 외부 의존성(GitHub REST, GitLab, 잔디 API, AI 서버)별 bulkhead + circuit breaker
+ * - 공용 WebClient 의 필터로 걸려서 요청 호스트로 의존성을 고른다. (목록에 없는 호스트는 그대로 보냄)
+ * - bulkhead: 의존성마다 동시 요청 수를 resilience.{name}.max-concurrent 개로 제한하고, 넘는 요청은 기다리지 않고 바로 실패시킨다.
+ *   → 한 의존성이 느려져도 요청 스레드가 전부 그 의존성에 묶이지 않는다.
+ * - bulkhead 자리와 circuit breaker 의 응답 시간은 응답 헤더가 아니라 본문을 다 읽을(또는 실패 / 취소될) 때까지로 잡는다.
+ * - circuit breaker: 연결 실패, 타임아웃, 5xx 응답, 느린 응답의 비율이 높으면 열고(OPEN) 그동안은 요청을 보내지 않는다.
+ *   4xx(권한, 없는 사용자 ...)는 의존성 장애가 아니므로 세지 않는다.
+ * - 막힌 요청은 EXTERNAL_API_UNAVAILABLE 로 실패하고, serve-stale 인 의존성(기본: 잔디 API)의 GET 은 마지막으로 성공한 응답을 돌려준다. (X-Coa-Stale 헤더)
+ *   사용자마다 응답이 다른 GitHub / GitLab 은 url 만으로 캐시할 수 없어서 기본으로 끈다.
+ * - 상태: actuator /health 의 externalDependencies (하나라도 OPEN 이면 DEGRADED, 서비스 자체는 살아 있으므로 DOWN 으로 올리지 않음)
+ *   지표: resilience4j.circuitbreaker.*, resilience4j.bulkhead.*, external.stale-responses
+ */
+@Slf4j
+@Component("externalDependencies")
+public class ExternalDependencyGuard implements HealthIndicator {
+
+    public static final String STALE_HEADER = "X-Coa-Stale";
+
+    private static final Status DEGRADED = new Status("DEGRADED");
+
+    private record Dependency(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead, boolean serveStale) {
+    }
+
+    private record CachedResponse(int status, HttpHeaders headers, String body) {
+    }
+
+    // 호스트 → 의존성
+    private final Map<String, Dependency> dependencies = new LinkedHashMap<>();
+    private final Map<String, Dependency> dependenciesByName = new LinkedHashMap<>();
+    private final Cache<String, CachedResponse> staleCache;
+    private final Counter staleResponses;
+
+    public ExternalDependencyGuard(Environment env, MeterRegistry meterRegistry,
+                                   @Value("${url.gitHubApi:https://api.github.com}") String gitHubApiUrl,
+                                   @Value("${webclient.gitlab.hosts:lab.ssafy.com}") String gitLabHosts,
+                                   @Value("${url.contributions:https://github-contributions-api.jogruber.de}") String contributionsUrl,
+                                   @Value("${url.ai:}") String aiServerUrl,
+                                   @Value("${resilience.stale.max-size:1000}") long staleMaxSize,
+                                   @Value("${resilience.stale.ttl-min:360}") long staleTtlMin) {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+
+        Dependency github = dependency(env, circuitBreakerRegistry, bulkheadRegistry, "github", 40, Duration.ofSeconds(10), false);
+        Dependency gitlab = dependency(env, circuitBreakerRegistry, bulkheadRegistry, "gitlab", 20, Duration.ofSeconds(10), false);
+        Dependency contributions = dependency(env, circuitBreakerRegistry, bulkheadRegistry, "contributions", 10, Duration.ofSeconds(5), true);
+        Dependency ai = dependency(env, circuitBreakerRegistry, bulkheadRegistry, "ai", 10, Duration.ofSeconds(20), false);
+
+        dependencies.put(URI.create(gitHubApiUrl).getHost(), github);
+        Arrays.stream(gitLabHosts.split(","))
+                .map(String::trim)
+                .filter(host -> !host.isEmpty())
+                .forEach(host -> dependencies.put(host, gitlab));
+        dependencies.put(URI.create(contributionsUrl).getHost(), contributions);
+        if (!aiServerUrl.isBlank()) {
+            dependencies.put(URI.create(aiServerUrl).getHost(), ai);
+        }
+        for (Dependency dependency : new Dependency[]{github, gitlab, contributions, ai}) {
+            dependenciesByName.put(dependency.name(), dependency);
+        }
+
+        this.staleCache = Caffeine.newBuilder()
+                .maximumSize(staleMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(staleTtlMin))
+                .build();
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        this.staleResponses = Counter.builder("external.stale-responses")
+                .description("의존성이 막혀서 마지막으로 성공한 응답을 돌려준 수")
+                .register(meterRegistry);
+    }
+
+    public ExchangeFilterFunction filter(ExchangeStrategies strategies) {
+        return (request, next) -> {
+            Dependency dependency = dependencies.get(request.url().getHost());
+            if (dependency == null) {
+                return next.exchange(request);
+            }
+            boolean cacheable = dependency.serveStale() && HttpMethod.GET.equals(request.method());
+
+            Mono<ClientResponse> guarded = guard(dependency, request, next);
+            if (cacheable) {
+                guarded = guarded.flatMap(response -> remember(request, response));
+            }
+
+            return guarded.onErrorResume(e -> {
+                boolean rejected = e instanceof CallNotPermittedException || e instanceof BulkheadFullException;
+                if (rejected) {
+                    log.warn("external dependency rejected: dependency={}, reason={}", dependency.name(), e.getClass().getSimpleName());
+                }
+                Mono<ClientResponse> stale = cacheable ? stale(request, strategies) : Mono.empty();
+                return stale.switchIfEmpty(Mono.error(rejected ? new BaseException(StatusCode.EXTERNAL_API_UNAVAILABLE) : e));
+            });
+        };
+    }
+
+    @Override
+    public Health health() {
+        boolean degraded = false;
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (Dependency dependency : dependenciesByName.values()) {
+            CircuitBreaker.Metrics metrics = dependency.circuitBreaker().getMetrics();
+            CircuitBreaker.State state = dependency.circuitBreaker().getState();
+            degraded |= state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+            details.put(dependency.name(), Map.of(
+                    "state", state,
+                    "failureRate", metrics.getFailureRate(),
+                    "slowCallRate", metrics.getSlowCallRate(),
+                    "bufferedCalls", metrics.getNumberOfBufferedCalls(),
+                    "availableConcurrentCalls", dependency.bulkhead().getMetrics().getAvailableConcurrentCalls()));
+        }
+        return Health.status(degraded ? DEGRADED : Status.UP).withDetails(details).build();
+    }
+
+    private Mono<ClientResponse> guard(Dependency dependency, ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            CircuitBreaker circuitBreaker = dependency.circuitBreaker();
+            Bulkhead bulkhead = dependency.bulkhead();
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            }
+            // bulkhead 가 안쪽: 동시 요청 수 초과는 circuit breaker 의 실패로 세지 않는다.
+            if (!bulkhead.tryAcquirePermission()) {
+                circuitBreaker.releasePermission();
+                return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+            }
+            GuardedCall call = new GuardedCall(circuitBreaker, bulkhead);
+            return next.exchange(request)
+                    .map(response -> {
+                        call.responded = true;
+                        return response.mutate()
+                                .body(body -> body
+                                        .doOnComplete(() -> call.onResult(response))
+                                        .doOnError(call::onError)
+                                        .doOnCancel(call::release))
+                                .build();
+                    })
+                    .doOnError(call::onError)
+                    .doOnCancel(() -> {
+                        // 응답을 넘긴 뒤에는 본문 쪽에서 끝낸다.
+                        if (!call.responded) {
+                            call.release();
+                        }
+                    });
+        });
+    }
+
+    // 요청 하나의 bulkhead 자리, circuit breaker 결과 기록 (본문이 끝날 때 / 실패할 때 / 취소될 때 중 처음 한 번만)
+    private static final class GuardedCall {
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+        private final long start;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile boolean responded;
+
+        private GuardedCall(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+            this.start = circuitBreaker.getCurrentTimestamp();
+        }
+
+        // 5xx 는 recordResult 로 실패, 느린 응답은 slowCallDurationThreshold 로 센다.
+        void onResult(ClientResponse response) {
+            if (finish()) {
+                circuitBreaker.onResult(elapsed(), circuitBreaker.getTimestampUnit(), response);
+            }
+        }
+
+        void onError(Throwable e) {
+            if (finish()) {
+                circuitBreaker.onError(elapsed(), circuitBreaker.getTimestampUnit(), e);
+            }
+        }
+
+        // 취소는 성공 / 실패로 세지 않는다.
+        void release() {
+            if (finish()) {
+                circuitBreaker.releasePermission();
+            }
+        }
+
+        private boolean finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            bulkhead.onComplete();
+            return true;
+        }
+
+        private long elapsed() {
+            return circuitBreaker.getCurrentTimestamp() - start;
+        }
+    }
+
+    // 성공한 응답의 본문을 읽어서 저장하고 같은 본문으로 다시 만든 응답을 넘긴다.
+    private Mono<ClientResponse> remember(ClientRequest request, ClientResponse response) {
+        if (!response.statusCode().is2xxSuccessful()) {
+            return Mono.just(response);
+        }
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .map(body -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.addAll(response.headers().asHttpHeaders());
+                    staleCache.put(request.url().toString(), new CachedResponse(response.statusCode().value(), headers, body));
+                    return response.mutate().body(body).build();
+                });
+    }
+
+    private Mono<ClientResponse> stale(ClientRequest request, ExchangeStrategies strategies) {
+        CachedResponse cached = staleCache.getIfPresent(request.url().toString());
+        if (cached == null) {
+            return Mono.empty();
+        }
+        staleResponses.increment();
+        return Mono.just(ClientResponse.create(HttpStatusCode.valueOf(cached.status()), strategies)
+                .headers(headers -> headers.addAll(cached.headers()))
+                .header(STALE_HEADER, "true")
+                .body(cached.body())
+                .build());
+    }
+
+    private Dependency dependency(Environment env, CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+                                  String name, int defaultMaxConcurrent, Duration defaultSlowCall, boolean defaultServeStale) {
+        String prefix = "resilience." + name + ".";
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(env.getProperty(prefix + "window-size", Integer.class, 20))
+                .minimumNumberOfCalls(env.getProperty(prefix + "minimum-calls", Integer.class, 10))
+                .failureRateThreshold(env.getProperty(prefix + "failure-rate", Float.class, 50f))
+                .slowCallRateThreshold(env.getProperty(prefix + "slow-call-rate", Float.class, 80f))
+                .slowCallDurationThreshold(Duration.ofMillis(env.getProperty(prefix + "slow-call-ms", Long.class, defaultSlowCall.toMillis())))
+                .waitDurationInOpenState(Duration.ofMillis(env.getProperty(prefix + "open-ms", Long.class, 30000L)))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .recordResult(result -> result instanceof ClientResponse response && response.statusCode().is5xxServerError())
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+        BulkheadConfig bulkheadConfig = BulkheadConfig.custom()
+                .maxConcurrentCalls(env.getProperty(prefix + "max-concurrent", Integer.class, defaultMaxConcurrent))
+                .maxWaitDuration(Duration.ZERO)
+                .build();
+
+        return new Dependency(name,
+                circuitBreakerRegistry.circuitBreaker(name, circuitBreakerConfig),
+                bulkheadRegistry.bulkhead(name, bulkheadConfig),
+                env.getProperty(prefix + "serve-stale", Boolean.class, defaultServeStale));
+    }
+}
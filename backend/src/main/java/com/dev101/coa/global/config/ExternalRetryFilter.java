@@ -0,0 +1,174 @@
+package com.dev101.coa.global.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 외부 요청 재시도 (공용 WebClient 필터, ExternalDependencyGuard 바깥쪽)
+ * - GET / HEAD 만 재시도한다. (POST 인 AI 서버 분석 요청 등은 한 번만)
+ * - 재시도하는 경우
+ *   - 5xx 응답, 연결 실패 / 타임아웃: 지수 backoff + full jitter (0 ~ min(max-delay, base-delay * 2^n) 사이 임의 값)
+ *   - 429, 사용량을 다 쓴 403 (Retry-After 가 있거나 남은 사용량이 0): Retry-After(초 또는 날짜) → 사용량 초기화 시각(X-RateLimit-Reset, GitLab RateLimit-Reset) 까지 기다린다.
+ *     권한이 없어서 난 403 은 재시도하지 않는다.
+ * - 기다린 뒤 요청이 요청의 마감 시각(DEADLINE_ATTRIBUTE, 없으면 첫 요청부터 max-total-ms) 안에 들어가지 않으면 재시도하지 않고 마지막 응답 / 에러를 그대로 넘긴다.
+ * - 지표: external.retries (host, reason 태그)
+ */
+@Slf4j
+@Component
+public class ExternalRetryFilter {
+
+    // 요청의 마감 시각 (Instant), WebClient 요청에 .attribute(DEADLINE_ATTRIBUTE, deadline) 로 넘긴다.
+    public static final String DEADLINE_ATTRIBUTE = ExternalRetryFilter.class.getName() + ".deadline";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    // 마감 시각이 없는 요청의 전체 재시도 시간
+    private final long maxTotalMs;
+
+    public ExternalRetryFilter(MeterRegistry meterRegistry,
+                               @Value("${webclient.retry.max-retries:3}") int maxRetries,
+                               @Value("${webclient.retry.base-delay-ms:200}") long baseDelayMs,
+                               @Value("${webclient.retry.max-delay-ms:5000}") long maxDelayMs,
+                               @Value("${webclient.retry.max-total-ms:30000}") long maxTotalMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxRetries = maxRetries;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.maxTotalMs = maxTotalMs;
+    }
+
+    // 요청 결과: 응답 또는 재시도할 수 있는 에러
+    private record Attempt(ClientResponse response, Throwable error) {
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (!HttpMethod.GET.equals(request.method()) && !HttpMethod.HEAD.equals(request.method())) {
+                return next.exchange(request);
+            }
+            return Mono.defer(() -> {
+                Instant deadline = request.attribute(DEADLINE_ATTRIBUTE)
+                        .map(Instant.class::cast)
+                        .orElse(Instant.now().plusMillis(maxTotalMs));
+                return exchange(request, next, 0, deadline);
+            });
+        };
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, int retry, Instant deadline) {
+        return next.exchange(request)
+                .map(response -> new Attempt(response, null))
+                .onErrorResume(this::isTransient, e -> Mono.just(new Attempt(null, e)))
+                .flatMap(attempt -> {
+                    Duration delay = attempt.error() != null ? backoff(retry) : retryDelay(attempt.response(), retry);
+                    if (delay == null || retry >= maxRetries || Instant.now().plus(delay).isAfter(deadline)) {
+                        return attempt.error() != null ? Mono.error(attempt.error()) : Mono.just(attempt.response());
+                    }
+
+                    String host = request.url().getHost();
+                    String reason = attempt.error() != null ? attempt.error().getClass().getSimpleName() : String.valueOf(attempt.response().statusCode().value());
+                    meterRegistry.counter("external.retries", "host", host, "reason", reason).increment();
+                    log.debug("retry external request: host={}, reason={}, retry={}, delayMs={}", host, reason, retry + 1, delay.toMillis());
+
+                    Mono<Void> release = attempt.response() != null ? attempt.response().releaseBody() : Mono.empty();
+                    return release
+                            .then(Mono.delay(delay))
+                            .then(exchange(request, next, retry + 1, deadline));
+                });
+    }
+
+    // 재시도하지 않을 응답이면 null
+    private Duration retryDelay(ClientResponse response, int retry) {
+        int status = response.statusCode().value();
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        if (status == HttpStatus.TOO_MANY_REQUESTS.value() || (status == HttpStatus.FORBIDDEN.value() && isRateLimited(headers))) {
+            Duration wait = rateLimitWait(headers);
+            return wait != null ? wait : backoff(retry);
+        }
+        if (response.statusCode().is5xxServerError()) {
+            Duration retryAfter = retryAfter(headers);
+            return retryAfter != null ? retryAfter : backoff(retry);
+        }
+        return null;
+    }
+
+    private boolean isRateLimited(HttpHeaders headers) {
+        return headers.getFirst(HttpHeaders.RETRY_AFTER) != null
+                || "0".equals(headers.getFirst("X-RateLimit-Remaining"))
+                || "0".equals(headers.getFirst("RateLimit-Remaining"));
+    }
+
+    private Duration rateLimitWait(HttpHeaders headers) {
+        Duration retryAfter = retryAfter(headers);
+        if (retryAfter != null) {
+            return retryAfter;
+        }
+        String reset = headers.getFirst("X-RateLimit-Reset");
+        if (reset == null) {
+            reset = headers.getFirst("RateLimit-Reset");
+        }
+        if (reset == null) {
+            return null;
+        }
+        try {
+            // 초기화 시각(epoch 초) + 1초 여유
+            long waitMs = (Long.parseLong(reset.trim()) + 1) * 1000 - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(0, waitMs));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Retry-After: 초 또는 HTTP 날짜
+    private Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Instant at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                return Duration.ofMillis(Math.max(0, at.toEpochMilli() - System.currentTimeMillis()));
+            } catch (RuntimeException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private Duration backoff(int retry) {
+        long cap = Math.min(maxDelayMs, baseDelayMs * (1L << Math.min(retry, 20)));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    // 연결 실패, 타임아웃, 응답 도중 끊김 (circuit breaker / bulkhead 거절은 재시도하지 않음)
+    private boolean isTransient(Throwable e) {
+        return e instanceof WebClientRequestException
+                || e instanceof TimeoutException
+                || e instanceof IOException
+                || e.getCause() instanceof IOException;
+    }
+}
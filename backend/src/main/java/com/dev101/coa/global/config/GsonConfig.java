@@ -1,6 +1,7 @@
 package com.dev101.coa.global.config;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import org.springframework.context.annotation.Bean;
@@ -23,6 +24,7 @@ public class GsonConfig {
 	public Gson gson() {
 		return new GsonBuilder()
 			.registerTypeAdapter(LocalDate.class, new LocalDateTypeAdapter())
+			.registerTypeAdapter(LocalDateTime.class, new LocalDateTimeTypeAdapter())
 			.create();
 	}
 
@@ -50,4 +52,29 @@ public class GsonConfig {
 			return LocalDate.parse(json.getAsString(), formatter);
 		}
 	}
+
+	public static class LocalDateTimeTypeAdapter
+		implements JsonSerializer<LocalDateTime>, JsonDeserializer<LocalDateTime>
+	{
+		private final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+		@Override
+		public JsonElement serialize(
+			final LocalDateTime dateTime,
+			final java.lang.reflect.Type typeOfSrc,
+			final JsonSerializationContext context
+		) {
+			return new JsonPrimitive(dateTime.format(formatter));
+		}
+
+		@Override
+		public LocalDateTime deserialize(
+			final JsonElement json,
+			final java.lang.reflect.Type typeOfT,
+			final JsonDeserializationContext context
+		) throws JsonParseException
+		{
+			return LocalDateTime.parse(json.getAsString(), formatter);
+		}
+	}
 }
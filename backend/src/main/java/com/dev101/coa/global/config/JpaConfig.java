@@ -1,10 +1,43 @@
 package com.dev101.coa.global.config;
 
+import com.dev101.coa.global.common.RequestDeadline;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Instant;
+import java.util.Optional;
 
 @Configuration
 @EnableJpaAuditing
 public class JpaConfig {
-    // Additional configuration if needed
+
+    // 요청에 마감 시각이 있으면 트랜잭션 타임아웃을 남은 시간으로 줄인다. (최소 1초)
+    // - 트랜잭션 안의 쿼리에는 남은 트랜잭션 시간이 쿼리 타임아웃으로 걸린다.
+    // - 이미 마감 시각이 지났으면 트랜잭션을 시작하지 않는다.
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory) {
+            @Override
+            protected int determineTimeout(TransactionDefinition definition) {
+                int timeout = super.determineTimeout(definition);
+                Optional<Instant> deadline = RequestDeadline.current();
+                if (deadline.isEmpty()) {
+                    return timeout;
+                }
+                RequestDeadline.throwIfExpired(deadline.get());
+                int remainingSec = (int) Math.max(1, RequestDeadline.remaining(deadline.get()).toSeconds());
+                return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remainingSec : Math.min(timeout, remainingSec);
+            }
+        };
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
 }
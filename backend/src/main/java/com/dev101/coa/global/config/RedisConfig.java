@@ -1,30 +1,125 @@
 package com.dev101.coa.global.config;
 
+import com.dev101.coa.domain.code.service.CodeRegistry;
+import com.dev101.coa.domain.member.service.PlatformCredentialResolver;
+import com.dev101.coa.domain.redis.RedisResult;
+import com.dev101.coa.domain.redis.RedisResultNearCache;
+import com.dev101.coa.domain.redis.VersionedJsonRedisSerializer;
 import com.dev101.coa.domain.repo.dto.AnalysisResultDto;
 import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 @RequiredArgsConstructor
 @EnableRedisRepositories
 public class RedisConfig {
     private final RedisProperties redisProperties;
 
+    // 이 크기(byte) 이상인 분석 결과는 gzip 으로 압축해서 저장
+    @Value("${redis.codec.compress-threshold:2048}")
+    private int compressThreshold;
+
+    // redis 명령 하나가 이 시간 안에 끝나지 않으면 실패 처리 (느린 redis 가 요청 스레드를 잡고 있지 않도록)
+    @Value("${redis.command-timeout-ms:2000}")
+    private long commandTimeoutMs;
+
+    @Value("${redis.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
     // RedisProperties로 yaml에 저장한 host, post를 연결
+    // - 하나의 네이티브 연결을 모든 요청이 공유(blocking / reactive 공통), 끊기면 자동 재연결
+    // - 연결이 끊긴 동안 들어온 명령은 쌓아두지 않고 바로 실패시킨다.
+    @Bean
+    public LettuceConnectionFactory redisConnectionFactory() {
+        RedisStandaloneConfiguration serverConfig = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+
+        ClientOptions clientOptions = ClientOptions.builder()
+                .autoReconnect(true)
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .socketOptions(SocketOptions.builder()
+                        .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                        .keepAlive(true)
+                        .build())
+                .timeoutOptions(TimeoutOptions.enabled(Duration.ofMillis(commandTimeoutMs)))
+                .build();
+
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(commandTimeoutMs))
+                .clientOptions(clientOptions)
+                .build();
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(serverConfig, clientConfig);
+        factory.setShareNativeConnection(true);
+        return factory;
+    }
+
+    // 분석 결과(result:{analysisId}) 값을 버전 헤더 + (압축) JSON 으로 저장하는 코덱
+    @Bean
+    public VersionedJsonRedisSerializer<RedisResult> redisResultSerializer() {
+        return new VersionedJsonRedisSerializer<>(RedisResult.class, compressThreshold);
+    }
+
+    @Bean
+    public RedisTemplate<String, RedisResult> redisResultTemplate(RedisConnectionFactory factory,
+                                                                  VersionedJsonRedisSerializer<RedisResult> redisResultSerializer) {
+        RedisTemplate<String, RedisResult> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(redisResultSerializer);
+
+        return template;
+    }
+
+    // 분석 진척도 / 완료 결과 조회용 reactive 템플릿 (서블릿 스레드를 막지 않음)
+    @Bean
+    public ReactiveRedisTemplate<String, RedisResult> reactiveRedisResultTemplate(ReactiveRedisConnectionFactory factory,
+                                                                                  VersionedJsonRedisSerializer<RedisResult> redisResultSerializer) {
+        RedisSerializationContext<String, RedisResult> context = RedisSerializationContext
+                .<String, RedisResult>newSerializationContext(new StringRedisSerializer())
+                .value(redisResultSerializer)
+                .build();
+
+        return new ReactiveRedisTemplate<>(factory, context);
+    }
+
+    // 분석 결과 / 연동 계정 정보 / JPA 2차 캐시 항목이 바뀌면 다른 노드의 캐시 항목도 지우도록 무효화 채널 구독 (공통 코드는 다시 읽기)
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(redisProperties.getHost(), redisProperties.getPort());
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory,
+                                                                       RedisResultNearCache redisResultNearCache,
+                                                                       PlatformCredentialResolver platformCredentialResolver,
+                                                                       CodeRegistry codeRegistry,
+                                                                       EntityCacheInvalidator entityCacheInvalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(redisResultNearCache, new ChannelTopic(RedisResultNearCache.INVALIDATE_CHANNEL));
+        container.addMessageListener(platformCredentialResolver, new ChannelTopic(PlatformCredentialResolver.INVALIDATE_CHANNEL));
+        container.addMessageListener(codeRegistry, new ChannelTopic(CodeRegistry.REFRESH_CHANNEL));
+        container.addMessageListener(entityCacheInvalidator, new ChannelTopic(EntityCacheInvalidator.INVALIDATE_CHANNEL));
+        return container;
     }
 
     // String-String(key-value) 형식으로 저장할 redis 템플릿 설정 for test
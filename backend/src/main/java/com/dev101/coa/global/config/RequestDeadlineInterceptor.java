@@ -0,0 +1,79 @@
+package com.dev101.coa.global.config;
+
+import com.dev101.coa.global.common.RequestBudget;
+import com.dev101.coa.global.common.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Instant;
+
+/**
+ * 요청의 마감 시각을 정한다.
+ * - 엔드포인트 예산(@RequestBudget)과 클라이언트가 보낸 X-Request-Budget-Ms 헤더 중 짧은 쪽, 둘 다 없으면 마감 시각 없음
+ * - 클라이언트 예산은 request.deadline.max-client-ms 를 넘지 않는다. (헤더로 예산을 늘려서 오래 붙잡지 못하게)
+ * - Mono / Flux 를 반환하는 엔드포인트는 컨트롤러에서 RequestDeadline.bound 로 마감 시각을 체인에 넘기고,
+ *   비동기 처리가 시작되면 요청 스레드의 ThreadLocal 은 바로 지운다.
+ */
+@Slf4j
+@Component
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String BUDGET_HEADER = "X-Request-Budget-Ms";
+
+    @Value("${request.deadline.max-client-ms:300000}")
+    private long maxClientBudgetMs;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long budgetMs = null;
+        if (handler instanceof HandlerMethod handlerMethod) {
+            RequestBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), RequestBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequestBudget.class);
+            }
+            if (budget != null) {
+                budgetMs = budget.value();
+            }
+        }
+
+        Long clientBudgetMs = clientBudget(request);
+        if (clientBudgetMs != null) {
+            budgetMs = budgetMs == null ? clientBudgetMs : Math.min(budgetMs, clientBudgetMs);
+        }
+
+        if (budgetMs != null) {
+            RequestDeadline.set(Instant.now().plusMillis(budgetMs));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    private Long clientBudget(HttpServletRequest request) {
+        String header = request.getHeader(BUDGET_HEADER);
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            long budgetMs = Long.parseLong(header.trim());
+            return budgetMs > 0 ? Math.min(budgetMs, maxClientBudgetMs) : null;
+        } catch (NumberFormatException e) {
+            log.debug("ignore invalid {} header: {}", BUDGET_HEADER, header);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.dev101.coa.global.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class SchedulerConfig {
+
+    // reactive 체인 안에서 JPA(blocking) 조회를 실행하는 스케줄러
+    // - 스레드 수는 DB 커넥션 풀 크기와 같게 잡는다. (더 많아도 커넥션을 기다릴 뿐)
+    // - 대기 작업이 queue-size 를 넘으면 바로 실패시켜서 DB 가 느릴 때 작업이 끝없이 쌓이지 않게 한다.
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jpaScheduler(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int threads,
+                                  @Value("${reactor.jpa-scheduler.queue-size:1000}") int queueSize) {
+        return Schedulers.newBoundedElastic(threads, queueSize, "jpa");
+    }
+}
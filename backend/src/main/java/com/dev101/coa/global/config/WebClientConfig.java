@@ -1,19 +1,170 @@
 package com.dev101.coa.global.config;
 
+import com.dev101.coa.global.common.RequestDeadline;
+import com.dev101.coa.global.common.StatusCode;
+import com.dev101.coa.global.exception.BaseException;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 
 @Configuration
 public class WebClientConfig {
 
+    // 목적지마다 따로 잡는 커넥션 풀 / 타임아웃 (webclient.{github|gitlab|ai|default}.* 로 덮어쓸 수 있음)
+    // - 한 목적지가 느려져도 다른 목적지의 커넥션을 다 잡고 있지 않도록 풀을 나눈다.
+    // - 커넥션을 기다리는 요청 수(pending-acquire-max)와 시간을 제한해서 느린 목적지로 가는 요청은 빨리 실패시킨다.
+    private record HostPool(int maxConnections, int pendingAcquireMax, Duration pendingAcquireTimeout,
+                            Duration maxIdleTime, Duration responseTimeout) {
+    }
+
+    @Value("${webclient.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    // 쉼표로 구분 (GitLab 인스턴스가 여러 개일 때)
+    @Value("${webclient.gitlab.hosts:lab.ssafy.com}")
+    private String gitLabHosts;
+
+    @Value("${url.gitHubApi:https://api.github.com}")
+    private String gitHubApiUrl;
+
+    @Value("${url.ai:}")
+    private String aiServerUrl;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider externalConnectionProvider(Environment env) {
+        HostPool others = hostPool(env, "default", 20, Duration.ofSeconds(10));
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("external")
+                .maxConnections(others.maxConnections())
+                .pendingAcquireMaxCount(others.pendingAcquireMax())
+                .pendingAcquireTimeout(others.pendingAcquireTimeout())
+                .maxIdleTime(others.maxIdleTime())
+                .evictInBackground(Duration.ofSeconds(30))
+                // reactor.netty.connection.provider.* (목적지별 전체 / 사용 중 / 유휴 / 대기 커넥션 수)
+                .metrics(true);
+
+        hostPools(env).forEach((uri, pool) -> {
+            int port = uri.getPort() != -1 ? uri.getPort() : ("http".equals(uri.getScheme()) ? 80 : 443);
+            builder.forRemoteHost(InetSocketAddress.createUnresolved(uri.getHost(), port), spec -> spec
+                    .maxConnections(pool.maxConnections())
+                    .pendingAcquireMaxCount(pool.pendingAcquireMax())
+                    .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                    .maxIdleTime(pool.maxIdleTime())
+                    .evictInBackground(Duration.ofSeconds(30))
+                    .metrics(true));
+        });
+        return builder.build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(ConnectionProvider externalConnectionProvider, ExternalDependencyGuard externalDependencyGuard,
+                               ExternalRetryFilter externalRetryFilter, Environment env) {
+        Map<String, Duration> responseTimeouts = new HashMap<>();
+        hostPools(env).forEach((uri, pool) -> responseTimeouts.put(uri.getHost(), pool.responseTimeout()));
+        Duration defaultTimeout = hostPool(env, "default", 20, Duration.ofSeconds(10)).responseTimeout();
+
+        HttpClient httpClient = HttpClient.create(externalConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                // Accept-Encoding: gzip 을 보내고 압축된 응답을 풀어서 넘긴다.
+                .compress(true)
+                // https 목적지는 ALPN 으로 HTTP/2 를 협상하고, 지원하지 않거나 http(AI 서버)면 HTTP/1.1
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                // 응답 타임아웃(읽기 사이 최대 간격)은 목적지마다
+                .doOnRequest((request, connection) -> request.responseTimeout(
+                        responseTimeouts.getOrDefault(URI.create(request.resourceUrl()).getHost(), defaultTimeout)));
+
+        // 16MB 설정 - 한 번에 메모리에 올리는 최대 크기
+        // (bodyToFlux 로 읽는 JSON 배열은 항목 단위로 디코딩하므로 응답 전체가 아니라 항목 하나에 적용된다.)
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build();
+
         return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024)) // 16MB 설정
+                .exchangeStrategies(strategies)
+                // 요청 스레드에서 만든 요청에는 그 요청의 마감 시각을 붙인다. (reactive 체인 안에서 만든 요청은 Reactor Context 로)
+                .defaultRequest(spec -> RequestDeadline.current()
+                        .ifPresent(deadline -> spec.attribute(ExternalRetryFilter.DEADLINE_ATTRIBUTE, deadline)))
+                // 먼저 등록한 필터가 바깥쪽: 마감 시각 → 재시도 → bulkhead, circuit breaker 순서
+                // 재시도할 때마다 bulkhead, circuit breaker 를 다시 거친다.
+                .filter(deadlineFilter())
+                .filter(externalRetryFilter.filter())
+                // 외부 의존성별 bulkhead, circuit breaker
+                .filter(externalDependencyGuard.filter(strategies))
                 .build();
     }
+
+    // 요청의 마감 시각(요청 속성 또는 Reactor Context)이 있으면
+    // - 이미 지났으면 보내지 않고 DEADLINE_EXCEEDED
+    // - 재시도 필터가 같은 마감 시각을 쓰도록 요청 속성에 넣고, 응답을 남은 시간까지만 기다린다.
+    private ExchangeFilterFunction deadlineFilter() {
+        return (request, next) -> Mono.deferContextual(context -> {
+            Optional<Instant> deadline = request.attribute(ExternalRetryFilter.DEADLINE_ATTRIBUTE)
+                    .map(Instant.class::cast)
+                    .or(() -> RequestDeadline.from(context));
+            if (deadline.isEmpty()) {
+                return next.exchange(request);
+            }
+            if (RequestDeadline.isExpired(deadline.get())) {
+                return Mono.error(new BaseException(StatusCode.DEADLINE_EXCEEDED));
+            }
+            ClientRequest withDeadline = ClientRequest.from(request)
+                    .attribute(ExternalRetryFilter.DEADLINE_ATTRIBUTE, deadline.get())
+                    .build();
+            return next.exchange(withDeadline)
+                    .timeout(RequestDeadline.remaining(deadline.get()))
+                    .onErrorMap(TimeoutException.class, e -> new BaseException(StatusCode.DEADLINE_EXCEEDED));
+        });
+    }
+
+    // 목적지(GitHub, GitLab 호스트들, AI 서버) → 풀 설정
+    private Map<URI, HostPool> hostPools(Environment env) {
+        Map<URI, HostPool> pools = new LinkedHashMap<>();
+        pools.put(URI.create(gitHubApiUrl), hostPool(env, "github", 50, Duration.ofSeconds(20)));
+        HostPool gitlab = hostPool(env, "gitlab", 30, Duration.ofSeconds(20));
+        Arrays.stream(gitLabHosts.split(","))
+                .map(String::trim)
+                .filter(host -> !host.isEmpty())
+                .forEach(host -> pools.put(URI.create("https://" + host), gitlab));
+        if (!aiServerUrl.isBlank()) {
+            pools.put(URI.create(aiServerUrl), hostPool(env, "ai", 20, Duration.ofSeconds(30)));
+        }
+        return pools;
+    }
+
+    private HostPool hostPool(Environment env, String name, int defaultMaxConnections, Duration defaultResponseTimeout) {
+        String prefix = "webclient." + name + ".";
+        int maxConnections = env.getProperty(prefix + "max-connections", Integer.class, defaultMaxConnections);
+        return new HostPool(
+                maxConnections,
+                env.getProperty(prefix + "pending-acquire-max", Integer.class, maxConnections * 4),
+                Duration.ofMillis(env.getProperty(prefix + "pending-acquire-timeout-ms", Long.class, 5000L)),
+                Duration.ofMillis(env.getProperty(prefix + "max-idle-ms", Long.class, 30000L)),
+                Duration.ofMillis(env.getProperty(prefix + "response-timeout-ms", Long.class, defaultResponseTimeout.toMillis())));
+    }
 }
@@ -0,0 +1,23 @@
+package com.dev101.coa.global.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * - 비동기 요청(Mono 를 반환하는 컨트롤러)의 타임아웃은 기본값 그대로 둔다.
+ *   분석 진척도 스트림(SSE Flux)은 스프링이 타임아웃 없이 열고, 스트림이 analysis.progress-stream.max-sec 에 스스로 끝난다. (RepoService.streamAnalysis)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+
+    // 요청 마감 시각 (엔드포인트 예산 / X-Request-Budget-Ms 헤더)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestDeadlineInterceptor).addPathPatterns("/api/**");
+    }
+}
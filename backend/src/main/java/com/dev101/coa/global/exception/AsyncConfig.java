@@ -1,7 +1,10 @@
 package com.dev101.coa.global.exception;
 
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 
@@ -11,9 +14,16 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
+    // spring boot 의 applicationTaskExecutor (Java 21 + spring.threads.virtual.enabled=true 면 virtual thread)
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    public AsyncConfig(@Lazy @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor) {
+        this.applicationTaskExecutor = applicationTaskExecutor;
+    }
+
     @Override
     public Executor getAsyncExecutor() {
-        return null; // Executor를 설정하세요
+        return applicationTaskExecutor;
     }
 
     @Override
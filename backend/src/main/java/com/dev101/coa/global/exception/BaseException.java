@@ -8,8 +8,19 @@ import lombok.Getter;
 public class BaseException extends RuntimeException {
     private final StatusCode statusCode;
 
+    // 실패 응답의 result 로 같이 내려줄 값 (없으면 null)
+    private final Object result;
+
     public BaseException(StatusCode statusCode) {
         super(statusCode.getMessage());
         this.statusCode = statusCode;
+        this.result = null;
+    }
+
+    // message 가 null 이면 statusCode 의 메시지
+    public BaseException(StatusCode statusCode, String message, Object result) {
+        super(message != null ? message : statusCode.getMessage());
+        this.statusCode = statusCode;
+        this.result = result;
     }
 }
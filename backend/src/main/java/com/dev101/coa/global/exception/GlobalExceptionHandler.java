@@ -1,6 +1,7 @@
 package com.dev101.coa.global.exception;
 
 import com.dev101.coa.global.common.BaseResponse;
+import com.dev101.coa.global.common.StatusCode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +22,11 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     @ExceptionHandler(BaseException.class)
     public ResponseEntity<?> globalException(final BaseException exception) {
         log.error("Error occurs {}", exception.toString());
+        if (exception.getResult() != null) {
+            StatusCode statusCode = exception.getStatusCode();
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(new BaseResponse<>(statusCode.isSuccess(), exception.getMessage(), statusCode.getCode(), exception.getResult()));
+        }
         return ResponseEntity.status(HttpStatus.OK)
                 .body(new BaseResponse<>(exception.getStatusCode()));
     }
@@ -30,10 +30,11 @@ public class JwtAuthenticationCookieFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromCookie(request); // 이 뒤로는 똑같은거 아닌가? TODO 여기 뒤로만 비교하면 맞추면 듯.
 
-            if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
+            if (jwt != null) {
 //            UsernamePasswordAuthenticationToken authentication = jwtTokenProvider.getAuthentication(jwt);
 
-                Long memberId = jwtTokenProvider.getMemberIdFromJWT(jwt);
+                // 검증과 memberId 추출을 한 번에 (유효하지 않으면 JWT_KEY_ERROR)
+                Long memberId = jwtTokenProvider.authenticate(jwt);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         memberId, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))); // 임의의 권한
@@ -28,8 +28,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter { // 얘는 
             String jwt = getJwtFromRequest(request);
             System.out.println("jwt = " + jwt);
 
-            if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
-                Long memberId = jwtTokenProvider.getMemberIdFromJWT(jwt);
+            if (jwt != null) {
+                Long memberId = jwtTokenProvider.authenticate(jwt);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         memberId, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
@@ -3,12 +3,17 @@ package com.dev101.coa.global.security;
 import com.dev101.coa.domain.member.entity.Member;
 import com.dev101.coa.global.common.StatusCode;
 import com.dev101.coa.global.exception.BaseException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -17,21 +22,67 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * 토큰 만들거나 관리하는 친구
+ * - 파서는 시작할 때 한 번만 만들어서 같이 쓴다. (thread-safe)
+ * - 요청마다 서명 검증은 한 번만 하고, 검증한 토큰은 토큰의 digest(SHA-256) → (memberId, 만료 시각)으로 만료될 때까지 캐시한다.
+ *   같은 토큰으로 다시 오면 서명 검증, JSON 파싱 없이 memberId 를 돌려준다. (토큰 원문은 캐시에 남기지 않음)
+ * - 캐시 크기는 app.jwt.cache.max-size (0 이면 캐시하지 않음), 지표: jwtVerifiedTokens
+ */
 @Component
-public class JwtTokenProvider { // 토큰 만들거나 관리하는 친구
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
-    @Value("${app.jwt.expiration-ms}")
-    private int jwtExpirationInMs;
-
-    private Key key;
-    @PostConstruct
-    public void init() {
-        key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+public class JwtTokenProvider {
+
+    private final int jwtExpirationInMs;
+    private final Key key;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    // 검증한 토큰의 memberId, 만료 시각(epoch ms)
+    private record VerifiedToken(Long memberId, long expiresAtMs) {
+    }
+
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration-ms}") int jwtExpirationInMs,
+                            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+                            MeterRegistry meterRegistry) {
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+        if (cacheMaxSize > 0) {
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    // 토큰이 만료되는 시각에 캐시에서도 빠진다.
+                    .expireAfter(new Expiry<String, VerifiedToken>() {
+                        @Override
+                        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+                            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAtMs() - System.currentTimeMillis()));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                            return expireAfterCreate(digest, token, currentTime);
+                        }
+
+                        @Override
+                        public long expireAfterRead(String digest, VerifiedToken token, long currentTime, long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtVerifiedTokens");
+        } else {
+            this.verifiedTokens = null;
+        }
     }
 
     public String createToken(Member member) {
@@ -49,27 +100,36 @@ public class JwtTokenProvider { // 토큰 만들거나 관리하는 친구
                 .compact();
     }
 
+    // 토큰을 검증하고 memberId 를 꺼낸다. (검증은 한 번, 유효하지 않으면 JWT_KEY_ERROR)
+    public Long authenticate(String token) {
+        String digest = verifiedTokens == null ? null : digest(token);
+        if (digest != null) {
+            VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+            // 캐시에서 빠지기 전이라도 만료 시각이 지났으면 다시 검증 (→ 만료 에러)
+            if (verified != null && verified.expiresAtMs() > System.currentTimeMillis()) {
+                return verified.memberId();
+            }
+        }
 
-    public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            throw new BaseException(StatusCode.JWT_KEY_ERROR);
+        Claims claims = parseClaims(token);
+        Long memberId = Long.parseLong(claims.getSubject()); // Subject에 담았던 String id를 꺼내서 반환.
+        if (digest != null && claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(memberId, claims.getExpiration().getTime()));
         }
+        return memberId;
     }
 
-    public Long getMemberIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean validateToken(String authToken) {
+        authenticate(authToken);
+        return true;
+    }
 
-        return Long.parseLong(claims.getSubject()); // Subject에 담았던 String id를 꺼내서 반환.
+    public Long getMemberIdFromJWT(String token) {
+        return authenticate(token);
     }
+
     public UsernamePasswordAuthenticationToken getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody(); // getMemberIdFromJWT랑 같은 작업이네
+        Claims claims = parseClaims(token);
         String username = claims.getSubject();
         var authorities = ((List<String>) claims.get("roles")).stream()
                 .map(SimpleGrantedAuthority::new)
@@ -78,4 +138,21 @@ public class JwtTokenProvider { // 토큰 만들거나 관리하는 친구
         User principal = new User(username, "", authorities);
         return new UsernamePasswordAuthenticationToken(principal, token, authorities); // 컨트롤러에서 사용할 정보들로 authentication 만들기
     }
+
+    private Claims parseClaims(String token) {
+        try {
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new BaseException(StatusCode.JWT_KEY_ERROR);
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -1,11 +1,12 @@
 package com.dev101.coa.global.security;
 
 import com.dev101.coa.domain.code.entity.Code;
-import com.dev101.coa.domain.code.repository.CodeRepository;
+import com.dev101.coa.domain.code.service.CodeRegistry;
 import com.dev101.coa.domain.member.entity.AccountLink;
 import com.dev101.coa.domain.member.entity.Member;
 import com.dev101.coa.domain.member.repository.AccountLinkRepository;
 import com.dev101.coa.domain.member.repository.MemberRepository;
+import com.dev101.coa.domain.member.service.PlatformCredentialResolver;
 import com.dev101.coa.global.common.StatusCode;
 import com.dev101.coa.global.exception.BaseException;
 import com.dev101.coa.global.security.info.GitHubUserInfo;
@@ -43,8 +44,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     private final OAuth2AuthorizedClientService authorizedClientService;
     private final MemberRepository memberRepository;
     private final AccountLinkRepository accountLinkRepository;
-    private final CodeRepository codeRepository;
+    private final CodeRegistry codeRegistry;
     private final EncryptionUtils encryptionUtils;
+    private final PlatformCredentialResolver platformCredentialResolver;
 
     @Value("${app.jwt.expiration-ms}")
     private int jwtExpirationInMs;
@@ -147,7 +149,6 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     // 기존 회원에게 새 소셜 계정 연동
     public void makeAccountLink(Member existingMember, Authentication authentication) throws Exception {
 
-        encryptionUtils.init();
         platOAuth2User oAuth2User = (platOAuth2User) authentication.getPrincipal();
         Code platCode = oAuth2User.getPlatCode();
         Map<String, Object> oAuth2UserAttribute = oAuth2User.getAttributes();
@@ -169,9 +170,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
 
         SocialUserInfo userInfo = null;
 
-        if (platCode.equals(codeRepository.findByCodeId(1002L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND)))) {
+        if (platCode.equals(codeRegistry.findByCodeId(1002L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND)))) {
             userInfo = new GitHubUserInfo(oAuth2UserAttribute);
-        } else if (platCode.equals(codeRepository.findByCodeId(1003L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND)))) {
+        } else if (platCode.equals(codeRegistry.findByCodeId(1003L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND)))) {
             userInfo = new GitLabUserInfo(oAuth2UserAttribute);
         }
 
@@ -201,6 +202,8 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                     accountLinkRepository.save(newAccountLink);
                 }
         );
+        // 캐시된 연동 계정 정보(닉네임, 이메일) 지우기
+        platformCredentialResolver.invalidate(existingMember.getMemberId(), platCode.getCodeId());
     }
 
 }
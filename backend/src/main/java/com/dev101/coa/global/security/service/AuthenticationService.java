@@ -1,7 +1,7 @@
 package com.dev101.coa.global.security.service;
 
 import com.dev101.coa.domain.code.entity.Code;
-import com.dev101.coa.domain.code.repository.CodeRepository;
+import com.dev101.coa.domain.code.service.CodeRegistry;
 import com.dev101.coa.domain.member.entity.Member;
 import com.dev101.coa.domain.member.entity.MemberJob;
 import com.dev101.coa.domain.member.repository.AccountLinkRepository;
@@ -28,7 +28,7 @@ import java.util.UUID;
 public class AuthenticationService {
 
     private final MemberRepository memberRepository;
-    private final CodeRepository codeRepository;
+    private final CodeRegistry codeRegistry;
     private final AccountLinkRepository accountLinkRepository;
     private final MemberJobRepository memberJobRepository;
 
@@ -51,8 +51,8 @@ public class AuthenticationService {
         String email = userInfo.getEmail();
         String userName = userInfo.getUsername();
         String img = userInfo.getImageUrl();
-        Code jobCode = codeRepository.findByCodeId(2004L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
-        Code platCode = codeRepository.findByCodeName(registrationId).orElseThrow(()-> new BaseException(StatusCode.CODE_NOT_FOUND));
+        Code jobCode = codeRegistry.findByCodeId(2004L).orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
+        Code platCode = codeRegistry.findByCodeName(registrationId).orElseThrow(()-> new BaseException(StatusCode.CODE_NOT_FOUND));
 
         Member member = memberRepository.findByMemberNicknameAndMemberPlatformCode(userName, platCode);
         if (member == null) {
@@ -85,7 +85,7 @@ public class AuthenticationService {
             case "kakao" -> 1006L;
             default -> throw new BaseException(StatusCode.NOT_FOUND_PLAT);
         };
-        return codeRepository.findById(codeId).orElseThrow(() -> new BaseException(StatusCode.NOT_FOUND_PLAT));
+        return codeRegistry.findByCodeId(codeId).orElseThrow(() -> new BaseException(StatusCode.NOT_FOUND_PLAT));
     }
 
     public SocialUserInfo extractUserInfo(String registrationId, OAuth2User oauthUser) {
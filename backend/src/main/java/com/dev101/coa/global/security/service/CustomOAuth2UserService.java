@@ -1,7 +1,7 @@
 package com.dev101.coa.global.security.service;
 
 import com.dev101.coa.domain.code.entity.Code;
-import com.dev101.coa.domain.code.repository.CodeRepository;
+import com.dev101.coa.domain.code.service.CodeRegistry;
 import com.dev101.coa.domain.member.entity.Member;
 import com.dev101.coa.global.common.StatusCode;
 import com.dev101.coa.global.exception.BaseException;
@@ -22,7 +22,7 @@ import java.util.Optional;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final AuthenticationService authenticationService;
-    private final CodeRepository codeRepository;
+    private final CodeRegistry codeRegistry;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -34,7 +34,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         // github이랑 gitlab은 바로 반환 멤버 업데이트 X
         switch (registrationId) {
             case "github", "gitlab" -> {
-                Optional<Code> code = codeRepository.findByCodeName(registrationId);
+                Optional<Code> code = codeRegistry.findByCodeName(registrationId);
                 Code platcode = code.orElseThrow(() -> new BaseException(StatusCode.CODE_NOT_FOUND));
 
 //                Authentication authentication = new UsernamePasswordAuthenticationToken(oAuth2User, null, null);
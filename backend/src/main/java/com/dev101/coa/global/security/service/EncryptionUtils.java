@@ -3,26 +3,48 @@ package com.dev101.coa.global.security.service;
 
 import com.dev101.coa.global.common.StatusCode;
 import com.dev101.coa.global.exception.BaseException;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
+/**
+ * 외부 토큰 암호화
+ * - 키는 시작할 때 한 번만 만들고, Cipher 는 작은 풀에서 빌려 쓰고 돌려준다. (Cipher 는 thread-safe 하지 않음)
+ *   가상 스레드에서는 ThreadLocal 이 요청마다 Cipher 를 새로 만들게 되고, 호출마다 getInstance 하면 몇 배 느리다. (EncryptionBenchmark)
+ * - 형식 v1: "v1:" + Base64(IV 12바이트 + AES-GCM 암호문 + 태그 16바이트), 버전 문자열을 AAD 로 묶어서 위조 / 버전 바꿔치기를 막는다.
+ * - 접두사가 없는 값은 예전 형식(AES/ECB)으로 복호화한다. isLegacy 로 확인해서 새 형식으로 다시 저장한다. (AccountLinkTokenService)
+ */
 @Component
 public class EncryptionUtils {
     private static final String ALGORITHM = "AES";
+    // 예전 형식 (Cipher.getInstance("AES") = AES/ECB/PKCS5Padding)
+    private static final String LEGACY_TRANSFORMATION = "AES/ECB/PKCS5Padding";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
 
-    @Value("${app.encryption-key}")
-    private String base64Key;
+    private static final String V1_PREFIX = "v1:";
+    private static final byte[] V1_AAD = V1_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    private static final int CIPHER_POOL_SIZE = 16;
 
-    private SecretKey secretKey;
+    private final SecretKey secretKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+    // 풀이 비어 있으면 새로 만들고, 꽉 차 있으면 버린다. (기다리지 않음)
+    private final BlockingQueue<Cipher> ciphers = new ArrayBlockingQueue<>(CIPHER_POOL_SIZE);
+    private final BlockingQueue<Cipher> legacyCiphers = new ArrayBlockingQueue<>(CIPHER_POOL_SIZE);
 
-    @PostConstruct
-    public void init() {
+    public EncryptionUtils(@Value("${app.encryption-key}") String base64Key) {
         byte[] decodedKey = Base64.getDecoder().decode(base64Key);
         secretKey = new SecretKeySpec(decodedKey, 0, decodedKey.length, ALGORITHM);
     }
@@ -31,17 +53,60 @@ public class EncryptionUtils {
         if (data == null) {
             return null;  // 또는 다른 적절한 처리
         }
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-        byte[] encrypted = cipher.doFinal(data.getBytes());
-        return Base64.getEncoder().encodeToString(encrypted);
+        byte[] plain = data.getBytes(StandardCharsets.UTF_8);
+        byte[] iv = new byte[IV_LENGTH];
+        secureRandom.nextBytes(iv);
+
+        Cipher gcm = borrow(ciphers, TRANSFORMATION);
+        try {
+            gcm.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BITS, iv));
+            gcm.updateAAD(V1_AAD);
+            byte[] out = new byte[IV_LENGTH + gcm.getOutputSize(plain.length)];
+            System.arraycopy(iv, 0, out, 0, IV_LENGTH);
+            gcm.doFinal(plain, 0, plain.length, out, IV_LENGTH);
+            return V1_PREFIX + Base64.getEncoder().encodeToString(out);
+        } finally {
+            ciphers.offer(gcm);
+        }
     }
 
     public String decrypt(String encryptedData) throws Exception {
         if(encryptedData == null) { throw new BaseException(StatusCode.NOT_EXIST_ACCESS); }
-        Cipher cipher = Cipher.getInstance(ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, secretKey);
-        byte[] original = cipher.doFinal(Base64.getDecoder().decode(encryptedData));
-        return new String(original);
+        if (!encryptedData.startsWith(V1_PREFIX)) {
+            Cipher ecb = borrow(legacyCiphers, LEGACY_TRANSFORMATION);
+            try {
+                ecb.init(Cipher.DECRYPT_MODE, secretKey);
+                return new String(ecb.doFinal(Base64.getDecoder().decode(encryptedData)), StandardCharsets.UTF_8);
+            } finally {
+                legacyCiphers.offer(ecb);
+            }
+        }
+
+        byte[] in = Base64.getDecoder().decode(encryptedData.substring(V1_PREFIX.length()));
+        Cipher gcm = borrow(ciphers, TRANSFORMATION);
+        try {
+            gcm.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BITS, in, 0, IV_LENGTH));
+            gcm.updateAAD(V1_AAD);
+            return new String(gcm.doFinal(in, IV_LENGTH, in.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } finally {
+            ciphers.offer(gcm);
+        }
+    }
+
+    // 예전 형식(ECB)으로 암호화된 값인지 (새 형식으로 다시 저장할 대상)
+    public boolean isLegacy(String encryptedData) {
+        return encryptedData != null && !encryptedData.startsWith(V1_PREFIX);
+    }
+
+    private static Cipher borrow(BlockingQueue<Cipher> pool, String transformation) {
+        Cipher pooled = pool.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new IllegalStateException(e);
+        }
     }
-}
\ No newline at end of file
+}
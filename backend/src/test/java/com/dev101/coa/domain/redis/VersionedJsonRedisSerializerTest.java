@@ -0,0 +1,84 @@
+package com.dev101.coa.domain.redis;
+
+import com.dev101.coa.domain.repo.dto.AiResultDto;
+import com.dev101.coa.global.config.GsonConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 헤더 + (gzip) JSON 왕복, 헤더 없는 기존 평문 JSON 읽기, 모르는 스키마 버전 거부
+ */
+class VersionedJsonRedisSerializerTest {
+
+    private static final int COMPRESS_THRESHOLD = 2048;
+
+    private final VersionedJsonRedisSerializer<RedisResult> serializer = new VersionedJsonRedisSerializer<>(RedisResult.class, COMPRESS_THRESHOLD);
+
+    @Test
+    void roundTripBelowThreshold() {
+        RedisResult result = result("짧은 README");
+
+        byte[] bytes = serializer.serialize(result);
+
+        assertThat(bytes[0]).isEqualTo(VersionedJsonRedisSerializer.MAGIC);
+        assertThat(bytes[1]).isEqualTo(VersionedJsonRedisSerializer.SCHEMA_VERSION);
+        assertThat(bytes[2] & VersionedJsonRedisSerializer.FLAG_GZIP).isZero();
+        assertSame(result, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void roundTripAboveThresholdIsCompressed() {
+        RedisResult result = result("## 프로젝트 소개\n".repeat(1000));
+
+        byte[] bytes = serializer.serialize(result);
+
+        assertThat(bytes[2] & VersionedJsonRedisSerializer.FLAG_GZIP).isEqualTo(VersionedJsonRedisSerializer.FLAG_GZIP);
+        assertThat(bytes.length).isLessThan(COMPRESS_THRESHOLD);
+        assertSame(result, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void readLegacyJsonWithoutHeader() {
+        RedisResult result = result("기존 값");
+        byte[] legacy = new GsonConfig().gson().toJson(result).getBytes(StandardCharsets.UTF_8);
+
+        assertSame(result, serializer.deserialize(legacy));
+    }
+
+    @Test
+    void rejectUnknownSchemaVersion() {
+        byte[] bytes = serializer.serialize(result("다음 버전"));
+        bytes[1] = (byte) (VersionedJsonRedisSerializer.SCHEMA_VERSION + 1);
+
+        assertThatThrownBy(() -> serializer.deserialize(bytes)).isInstanceOf(SerializationException.class);
+    }
+
+    private RedisResult result(String readme) {
+        return RedisResult.builder()
+                .analysisId("0f8fad5b-d9cb-469f-a165-70867728950e")
+                .repoPath("https://github.com/rlagkdud/Spring-Pay-System")
+                .userName("rlagkdud")
+                .memberId(12L)
+                .isOwn(true)
+                .percentage(100)
+                .repoStartDate(LocalDate.of(2024, 4, 8))
+                .repoEndDate(LocalDate.of(2024, 5, 17))
+                .result(AiResultDto.builder()
+                        .totalCommitCnt(1200L)
+                        .readme(readme)
+                        .build())
+                .status("200")
+                .expireSec(86400L)
+                .build();
+    }
+
+    private void assertSame(RedisResult expected, RedisResult actual) {
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+}
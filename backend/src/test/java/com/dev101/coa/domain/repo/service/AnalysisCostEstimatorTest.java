@@ -0,0 +1,66 @@
+package com.dev101.coa.domain.repo.service;
+
+import com.dev101.coa.domain.repo.dto.AnalysisEstimateDto;
+import com.dev101.coa.domain.repo.dto.CommitWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커밋이 표본 기준(LocSamplingPolicy threshold)을 넘는 레포가 기본 설정(최대 커밋 수 없음)에서 실제로 표본 추정으로 가는지
+ */
+class AnalysisCostEstimatorTest {
+
+    private static final String COMMITS_URL = "https://api.github.com/repos/owner/repo/commits";
+
+    // application 기본값
+    private final LocSamplingPolicy locSamplingPolicy = new LocSamplingPolicy(3000L, 10);
+
+    @Test
+    void sampleWhenCommitsExceedThresholdWithoutCap() {
+        CommitWindow window = CommitWindow.of(null, null, null, 0);
+
+        assertThat(locSamplingPolicy.shouldSample(window, 20_000)).isTrue();
+
+        AnalysisEstimateDto estimate = estimator(20_000).estimate(false, COMMITS_URL, "token", window, 800L);
+        assertThat(estimate.getCommitCnt()).isEqualTo(20_000L);
+        assertThat(estimate.getTargetCommitCnt()).isEqualTo(20_000L);
+        assertThat(estimate.getDecision()).isEqualTo(AnalysisEstimateDto.Decision.SAMPLE);
+    }
+
+    @Test
+    void countAllWhenCapKeepsCommitsUnderThreshold() {
+        CommitWindow window = CommitWindow.of(null, null, 500, 0);
+
+        assertThat(locSamplingPolicy.shouldSample(window, 20_000)).isFalse();
+
+        AnalysisEstimateDto estimate = estimator(20_000).estimate(false, COMMITS_URL, "token", window, 800L);
+        assertThat(estimate.getTargetCommitCnt()).isEqualTo(500L);
+        assertThat(estimate.getDecision()).isEqualTo(AnalysisEstimateDto.Decision.RUN);
+    }
+
+    @Test
+    void configuredCapAppliesOnlyWhenSet() {
+        assertThat(CommitWindow.of(null, null, null, 0).maxCommits()).isNull();
+        assertThat(CommitWindow.of(null, null, null, 1000).maxCommits()).isEqualTo(1000);
+        assertThat(CommitWindow.of(null, null, 5000, 1000).maxCommits()).isEqualTo(1000);
+        assertThat(CommitWindow.of(null, null, 300, 1000).maxCommits()).isEqualTo(300);
+    }
+
+    // per_page=1 커밋 목록 응답 (Link rel="last" 의 page 가 커밋 수)
+    private AnalysisCostEstimator estimator(long commitCnt) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.LINK, "<" + COMMITS_URL + "?per_page=1&page=" + commitCnt + ">; rel=\"last\"")
+                        .body("[{}]")
+                        .build()))
+                .build();
+        return new AnalysisCostEstimator(webClient, locSamplingPolicy, new SimpleMeterRegistry(), 8L, 150L, 30_000L, 60L, 4);
+    }
+}
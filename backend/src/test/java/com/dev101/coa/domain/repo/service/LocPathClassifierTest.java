@@ -0,0 +1,83 @@
+package com.dev101.coa.domain.repo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기본 제외 규칙, .gitattributes 의 linguist 속성으로 덮어쓰기, .gitattributes 가 없거나 깨졌을 때 기본 규칙으로 돌아가는지
+ */
+class LocPathClassifierTest {
+
+    private final LocPathClassifier classifier = new LocPathClassifier("*.snap, legacy/**");
+
+    @Test
+    void defaultRules() {
+        LocPathClassifier.PathRules rules = classifier.defaultRules();
+
+        assertThat(rules.isCounted("src/main/java/App.java")).isTrue();
+        assertThat(rules.isCounted("frontend/node_modules/react/index.js")).isFalse();
+        assertThat(rules.isCounted("node_modules/react/index.js")).isFalse();
+        assertThat(rules.isCounted("backend/build/classes/App.class")).isFalse();
+        assertThat(rules.isCounted("static/app.min.js")).isFalse();
+        assertThat(rules.isCounted("frontend/package-lock.json")).isFalse();
+        assertThat(rules.isCounted("ai/app/proto/commit_pb2.py")).isFalse();
+        assertThat(rules.isCounted(null)).isFalse();
+        // analysis.loc.exclude-patterns
+        assertThat(rules.isCounted("ui/__snapshots__/Button.snap")).isFalse();
+        assertThat(rules.isCounted("legacy/old.js")).isFalse();
+    }
+
+    @Test
+    void linguistAttributesExclude() {
+        LocPathClassifier.PathRules rules = classifier.forRepo("""
+                docs/** linguist-documentation
+                lib/jquery.js linguist-vendored
+                src/api/*.ts linguist-generated=true
+                """);
+
+        assertThat(rules.isCounted("docs/guide/intro.md")).isFalse();
+        assertThat(rules.isCounted("lib/jquery.js")).isFalse();
+        assertThat(rules.isCounted("src/api/client.ts")).isFalse();
+        assertThat(rules.isCounted("src/app/main.ts")).isTrue();
+    }
+
+    @Test
+    void linguistAttributesIncludeAgain() {
+        // 나중에 나온 규칙이 우선
+        LocPathClassifier.PathRules rules = classifier.forRepo("""
+                vendor/our-sdk/** -linguist-vendored
+                build/ linguist-vendored=false
+                src/** linguist-generated
+                src/keep.ts -linguist-generated
+                """);
+
+        assertThat(rules.isCounted("vendor/our-sdk/client.go")).isTrue();
+        assertThat(rules.isCounted("vendor/other/client.go")).isFalse();
+        assertThat(rules.isCounted("build/tool.gradle")).isTrue();
+        assertThat(rules.isCounted("src/gen.ts")).isFalse();
+        assertThat(rules.isCounted("src/keep.ts")).isTrue();
+    }
+
+    @Test
+    void fallbackWhenGitAttributesMissing() {
+        assertThat(classifier.forRepo(null)).isSameAs(classifier.defaultRules());
+        assertThat(classifier.forRepo("  \n")).isSameAs(classifier.defaultRules());
+    }
+
+    @Test
+    void ignoreMalformedGitAttributes() {
+        LocPathClassifier.PathRules rules = classifier.forRepo("""
+                # 주석
+                linguist-vendored
+                *.js text eol=lf
+                *.png binary
+                \t  \t
+                src/** linguist-unknown=???
+                """);
+
+        assertThat(rules.rules()).hasSameSizeAs(classifier.defaultRules().rules());
+        assertThat(rules.isCounted("src/app.js")).isTrue();
+        assertThat(rules.isCounted("node_modules/react/index.js")).isFalse();
+    }
+}
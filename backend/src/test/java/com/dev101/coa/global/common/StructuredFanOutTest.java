@@ -0,0 +1,80 @@
+package com.dev101.coa.global.common;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * join() 이 끝나면 모든 작업의 결과를 바로 읽을 수 있는지, 하나가 실패하면 그 예외를 던지는지
+ */
+class StructuredFanOutTest {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    private final StructuredFanOut fanOut;
+
+    StructuredFanOutTest() {
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.initialize();
+        fanOut = new StructuredFanOut(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void resultsAreReadableRightAfterJoin() throws Exception {
+        // 작업이 끝났다고 알린 뒤 Future 에 결과가 들어가기 전에 join 이 돌아오는 틈을 여러 번 노린다.
+        for (int round = 0; round < 2000; round++) {
+            try (StructuredFanOut.Scope scope = fanOut.open()) {
+                List<StructuredFanOut.Subtask<Integer>> subtasks = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    int value = i;
+                    subtasks.add(scope.fork(() -> value));
+                }
+                scope.join();
+
+                int sum = 0;
+                for (StructuredFanOut.Subtask<Integer> subtask : subtasks) {
+                    sum += subtask.get();
+                }
+                assertThat(sum).isEqualTo(28);
+            }
+        }
+    }
+
+    @Test
+    void getBeforeJoinFails() throws Exception {
+        try (StructuredFanOut.Scope scope = fanOut.open()) {
+            StructuredFanOut.Subtask<Integer> subtask = scope.fork(() -> 1);
+
+            assertThatThrownBy(subtask::get).isInstanceOf(IllegalStateException.class);
+            scope.join();
+            assertThat(subtask.get()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void joinThrowsFirstFailure() {
+        assertThatThrownBy(() -> {
+            try (StructuredFanOut.Scope scope = fanOut.open()) {
+                scope.fork(() -> {
+                    throw new IllegalArgumentException("bad request");
+                });
+                scope.fork(() -> {
+                    Thread.sleep(10_000);
+                    return 1;
+                });
+                scope.join();
+            }
+        }).isInstanceOf(IllegalArgumentException.class).hasMessage("bad request");
+    }
+}
@@ -0,0 +1,73 @@
+package com.dev101.coa.global.config;
+
+import com.dev101.coa.global.common.StatusCode;
+import com.dev101.coa.global.exception.BaseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * bulkhead 자리는 응답 헤더가 아니라 본문을 다 읽을 때까지 잡혀 있는지
+ */
+class ExternalDependencyGuardTest {
+
+    private static final ClientRequest REQUEST = ClientRequest.create(HttpMethod.GET, URI.create("https://api.github.com/users/octocat")).build();
+
+    private ExchangeFilterFunction filter;
+    private ExternalDependencyGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment env = new MockEnvironment().withProperty("resilience.github.max-concurrent", "1");
+        guard = new ExternalDependencyGuard(env, new SimpleMeterRegistry(),
+                "https://api.github.com", "lab.ssafy.com", "https://github-contributions-api.jogruber.de", "", 10, 10);
+        filter = guard.filter(ExchangeStrategies.withDefaults());
+    }
+
+    @Test
+    void holdPermitUntilBodyIsRead() {
+        ExchangeFunction server = request -> Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build());
+
+        ClientResponse first = filter.filter(REQUEST, server).block();
+
+        // 첫 응답의 본문을 읽기 전에는 자리가 없다.
+        assertThatThrownBy(() -> filter.filter(REQUEST, server).block())
+                .isInstanceOfSatisfying(BaseException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(StatusCode.EXTERNAL_API_UNAVAILABLE));
+
+        assertThat(first.bodyToMono(String.class).block()).isEqualTo("{}");
+
+        ClientResponse second = filter.filter(REQUEST, server).block();
+        assertThat(second.releaseBody().then(Mono.just(true)).block()).isTrue();
+        assertThat(availableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void releasePermitWhenExchangeFails() {
+        ExchangeFunction server = request -> Mono.error(new IllegalStateException("connection reset"));
+
+        assertThatThrownBy(() -> filter.filter(REQUEST, server).block()).isInstanceOf(IllegalStateException.class);
+        assertThat(availableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int availableConcurrentCalls() {
+        Map<String, Object> github = (Map<String, Object>) guard.health().getDetails().get("github");
+        return (int) github.get("availableConcurrentCalls");
+    }
+}
@@ -0,0 +1,159 @@
+package com.dev101.coa.global.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재시도 대상(사용량 초과, 5xx)과 기다리는 시간(Retry-After, X-RateLimit-Reset), 재시도하지 않는 경우(권한 403, POST, 마감 시각)
+ */
+class ExternalRetryFilterTest {
+
+    private static final URI URL = URI.create("https://api.github.com/repos/owner/repo/commits");
+
+    private final ExchangeFilterFunction filter = new ExternalRetryFilter(new SimpleMeterRegistry(), 3, 10, 50, 30_000).filter();
+
+    @Test
+    void retryAfterSeconds() {
+        StubServer server = new StubServer(
+                response(HttpStatus.TOO_MANY_REQUESTS, HttpHeaders.RETRY_AFTER, "1"),
+                response(HttpStatus.OK));
+
+        long startMs = System.currentTimeMillis();
+        ClientResponse response = filter.filter(get(), server).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(server.calls.get()).isEqualTo(2);
+        assertThat(System.currentTimeMillis() - startMs).isGreaterThanOrEqualTo(900);
+    }
+
+    @Test
+    void retryAfterHttpDate() {
+        String at = ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(2).format(DateTimeFormatter.RFC_1123_DATE_TIME);
+        StubServer server = new StubServer(
+                response(HttpStatus.SERVICE_UNAVAILABLE, HttpHeaders.RETRY_AFTER, at),
+                response(HttpStatus.OK));
+
+        ClientResponse response = filter.filter(get(), server).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(server.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void waitUntilRateLimitReset() {
+        // 사용량을 다 쓴 403 → 초기화 시각(epoch 초) + 1초까지 기다린다.
+        String reset = String.valueOf(Instant.now().getEpochSecond() - 1);
+        StubServer server = new StubServer(
+                response(HttpStatus.FORBIDDEN, "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", reset),
+                response(HttpStatus.OK));
+
+        ClientResponse response = filter.filter(get(), server).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(server.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void permissionForbiddenIsNotRetried() {
+        StubServer server = new StubServer(
+                response(HttpStatus.FORBIDDEN, "X-RateLimit-Remaining", "4999"),
+                response(HttpStatus.OK));
+
+        ClientResponse response = filter.filter(get(), server).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(server.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void postIsPassedThrough() {
+        StubServer server = new StubServer(
+                response(HttpStatus.SERVICE_UNAVAILABLE),
+                response(HttpStatus.OK));
+
+        ClientResponse response = filter.filter(ClientRequest.create(HttpMethod.POST, URL).build(), server).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(server.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void stopAtDeadline() {
+        // 기다린 뒤 요청이 마감 시각을 넘으면 기다리지 않고 마지막 응답을 넘긴다.
+        StubServer server = new StubServer(
+                response(HttpStatus.TOO_MANY_REQUESTS, HttpHeaders.RETRY_AFTER, "5"),
+                response(HttpStatus.OK));
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URL)
+                .attribute(ExternalRetryFilter.DEADLINE_ATTRIBUTE, Instant.now().plusSeconds(2))
+                .build();
+
+        ClientResponse response = filter.filter(request, server).block(Duration.ofSeconds(1));
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(server.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void retryServerErrorsWithBackoff() {
+        StubServer server = new StubServer(
+                response(HttpStatus.BAD_GATEWAY),
+                response(HttpStatus.SERVICE_UNAVAILABLE),
+                response(HttpStatus.OK));
+
+        ClientResponse response = filter.filter(get(), server).block();
+
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(server.calls.get()).isEqualTo(3);
+    }
+
+    private static ClientRequest get() {
+        return ClientRequest.create(HttpMethod.GET, URL).build();
+    }
+
+    // headers: 이름, 값, 이름, 값 ...
+    private static ClientResponse response(HttpStatus status, String... headers) {
+        ClientResponse.Builder builder = ClientResponse.create(status).body("{}");
+        for (int i = 0; i < headers.length; i += 2) {
+            builder.header(headers[i], headers[i + 1]);
+        }
+        return builder.build();
+    }
+
+    // 정해 둔 응답을 순서대로 돌려주는 ExchangeFunction
+    private static class StubServer implements ExchangeFunction {
+
+        private final Queue<ClientResponse> responses;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubServer(ClientResponse... responses) {
+            this.responses = new ArrayDeque<>(List.of(responses));
+        }
+
+        @Override
+        public Mono<ClientResponse> exchange(ClientRequest request) {
+            calls.incrementAndGet();
+            return Mono.just(responses.remove());
+        }
+    }
+}